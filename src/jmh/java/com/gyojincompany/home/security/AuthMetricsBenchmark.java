@@ -0,0 +1,37 @@
+package com.gyojincompany.home.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.gyojincompany.home.entity.AuthProvider;
+
+//인증 단계 Timer 기록 비용 (JWT 필터는 요청마다 JWT_VERIFY/JWT_AUTHENTICATE 두 번 기록)
+//-> JwtBenchmark.verifyTokenFast와 비교해서 토큰 검증에 비해 무시할 만한지 확인
+@State(Scope.Benchmark)
+public class AuthMetricsBenchmark {
+
+	private AuthMetrics authMetrics;
+
+	@Setup
+	public void setUp() {
+		authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+	}
+
+	@Benchmark
+	public void recordSuccess() { //미리 등록된 성공 Timer
+		authMetrics.record(AuthMetrics.Stage.JWT_VERIFY, AuthMetrics.Reason.NONE, System.nanoTime());
+	}
+
+	@Benchmark
+	public void recordFailure() { //실패 사유별 Timer (처음 한 번만 등록, 이후 조회)
+		authMetrics.record(AuthMetrics.Stage.JWT_AUTHENTICATE, AuthMetrics.Reason.EXPIRED, System.nanoTime());
+	}
+
+	@Benchmark
+	public void recordWithProvider() { //소셜 로그인 단계 (provider 태그 포함)
+		authMetrics.record(AuthMetrics.Stage.OAUTH2_USER_INFO, AuthProvider.GOOGLE, AuthMetrics.Reason.NONE, System.nanoTime());
+	}
+}
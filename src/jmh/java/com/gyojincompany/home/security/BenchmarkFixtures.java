@@ -0,0 +1,38 @@
+package com.gyojincompany.home.security;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
+
+//벤치마크에서 공통으로 쓰는 JwtUtil/회원 준비 (스프링 컨텍스트 없이 운영 설정과 같은 값으로 생성)
+final class BenchmarkFixtures {
+
+	static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+	private BenchmarkFixtures() {
+	}
+
+	static JwtUtil jwtUtil(boolean fastPathEnabled) {
+		JwtUtil jwtUtil = new JwtUtil(new JwtKeyStore()); //jwt.keys.dir 미설정 -> HMAC 모드
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+		ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+		ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", fastPathEnabled);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+
+	static User user() { //토큰에 uid/role/name/ver 클레임이 모두 들어가는 일반 회원
+		return User.builder()
+				.id(1L)
+				.email("bench@example.com")
+				.emailNormalized("bench@example.com")
+				.password("")
+				.name("벤치마크")
+				.role(Role.USER)
+				.provider(AuthProvider.LOCAL)
+				.build();
+	}
+}
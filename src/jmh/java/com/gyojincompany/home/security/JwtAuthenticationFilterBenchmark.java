@@ -0,0 +1,57 @@
+package com.gyojincompany.home.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gyojincompany.home.entity.User;
+
+//JwtAuthenticationFilter.doFilterInternal 한 번 (토큰 검증 + 회원 조회 + 토큰 세대 확인 + SecurityContext 설정 + 지표 기록)
+//-> 회원 조회는 캐시 적중과 같은 비용이 되도록 미리 만든 User를 돌려줌 (DB 비용 제외)
+//-> statelessPrincipal=true는 토큰 클레임만으로 인증하는 모드 (jwt.stateless-principal)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+	@Param({"false", "true"})
+	public boolean statelessPrincipal;
+
+	private JwtAuthenticationFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+	private FilterChain chain;
+	private boolean authenticated;
+
+	@Setup
+	public void setUp() {
+		JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(true);
+		User user = BenchmarkFixtures.user();
+		UserDetailsService userDetailsService = username -> user;
+		filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, new TokenEpochRegistry(null, null),
+				new AuthMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(filter, "statelessPrincipal", statelessPrincipal);
+
+		request = new MockHttpServletRequest("GET", "/api/user/profile");
+		request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user));
+		response = new MockHttpServletResponse();
+		chain = (req, res) -> authenticated = SecurityContextHolder.getContext().getAuthentication() != null; //컨트롤러 대신 인증 결과만 확인
+	}
+
+	@Benchmark
+	public boolean doFilterInternal() throws Exception {
+		try {
+			filter.doFilterInternal(request, response, chain);
+			return authenticated;
+		} finally {
+			SecurityContextHolder.clearContext(); //요청이 끝나면 비워지는 것과 같게 -> 다음 호출도 인증 과정을 처음부터 실행
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.gyojincompany.home.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.gyojincompany.home.entity.User;
+
+import java.nio.charset.StandardCharsets;
+
+//JwtUtil 토큰 발급/파싱/검증 (요청마다 실행되는 경로)
+//-> fastPath=true는 운영 기본값(jwt.fast-path.enabled), false는 jjwt만 사용하는 경우
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+	@Param({"true", "false"})
+	public boolean fastPath;
+
+	private JwtUtil jwtUtil;
+	private User user;
+	private String token;
+	private VerifiedToken verifiedToken;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = BenchmarkFixtures.jwtUtil(fastPath);
+		user = BenchmarkFixtures.user();
+		token = jwtUtil.generateToken(user);
+		verifiedToken = jwtUtil.verifyToken(token);
+	}
+
+	@Benchmark
+	public String generateToken() { //로그인/리프레시 응답
+		return jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public String extractUsername() { //jjwt 전체 파싱 (클레임 Map 생성 포함)
+		return jwtUtil.extractUsername(token);
+	}
+
+	@Benchmark
+	public String extractUsernamePerRequestKey() { //비교 기준: 캐시 도입 전처럼 요청마다 서명키와 파서를 새로 만들어 파싱
+		return Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(token)
+				.getPayload()
+				.getSubject();
+	}
+
+	@Benchmark
+	public VerifiedToken verifyToken() { //jjwt 검증 (빠른 경로와 비교 기준)
+		return jwtUtil.verifyToken(token);
+	}
+
+	@Benchmark
+	public Boolean validateToken() { //토큰 문자열 -> 파싱/서명 검증 + 이메일/만료 확인
+		return jwtUtil.validateToken(token, user);
+	}
+
+	@Benchmark
+	public boolean validateVerifiedToken() { //이미 검증된 토큰으로 이메일/만료만 확인 (필터에서 쓰는 경로)
+		return jwtUtil.validateToken(verifiedToken, user);
+	}
+
+	@Benchmark
+	public VerifiedToken verifyTokenFast() { //JWT 필터의 DB 조회 모드에서 쓰는 검증
+		return jwtUtil.verifyTokenFast(token);
+	}
+}
@@ -0,0 +1,38 @@
+package com.gyojincompany.home.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+//BCrypt 비용(strength)별 해시/비교 처리량 -> auth.password-hashing.bcrypt.strength/calibrate 값을 정할 때 참고
+//-> 비용이 1 오를 때마다 시간이 약 2배 (12는 한 번에 수백 ms라 측정이 오래 걸림)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+	private static final String PASSWORD = "benchmark-password-1234";
+
+	@Param({"8", "10", "12"})
+	public int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String encoded;
+
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		encoded = encoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public String encode() { //회원가입, 비밀번호 변경, 다시 해시
+		return encoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean matches() { //로그인
+		return encoder.matches(PASSWORD, encoded);
+	}
+}
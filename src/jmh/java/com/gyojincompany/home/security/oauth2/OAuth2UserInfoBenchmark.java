@@ -0,0 +1,51 @@
+package com.gyojincompany.home.security.oauth2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+
+//구글/네이버 사용자 정보 응답(attributes)에서 id, 이름, 이메일을 꺼내는 비용 (CustomOAuth2UserService.loadUser 안에서 실행)
+@State(Scope.Benchmark)
+public class OAuth2UserInfoBenchmark {
+
+	private Map<String, Object> googleAttributes;
+	private Map<String, Object> naverAttributes;
+
+	@Setup
+	public void setUp() { //실제 응답과 같은 구조 (구글은 한 단계, 네이버는 response 안에 한 단계 더)
+		googleAttributes = Map.of(
+				"sub", "109876543210987654321",
+				"email", "bench@gmail.com",
+				"email_verified", true,
+				"name", "벤치마크",
+				"picture", "https://lh3.googleusercontent.com/a/benchmark",
+				"locale", "ko");
+		naverAttributes = Map.of(
+				"resultcode", "00",
+				"message", "success",
+				"response", Map.of(
+						"id", "naver-benchmark-id-0123456789",
+						"email", "bench@naver.com",
+						"name", "벤치마크"));
+	}
+
+	@Benchmark
+	public void google(Blackhole blackhole) {
+		OAuth2UserInfo userInfo = new GoogleOAuth2UserInfo(googleAttributes);
+		blackhole.consume(userInfo.getId());
+		blackhole.consume(userInfo.getName());
+		blackhole.consume(userInfo.getEmail());
+	}
+
+	@Benchmark
+	public void naver(Blackhole blackhole) {
+		OAuth2UserInfo userInfo = new NaverOAuth2UserInfo(naverAttributes);
+		blackhole.consume(userInfo.getId());
+		blackhole.consume(userInfo.getName());
+		blackhole.consume(userInfo.getEmail());
+	}
+}
@@ -2,8 +2,10 @@ package com.gyojincompany.home;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JwtTestProject20251209Application {
 
 	public static void main(String[] args) {
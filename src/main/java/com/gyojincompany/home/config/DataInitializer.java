@@ -1,9 +1,11 @@
 package com.gyojincompany.home.config;
 
 import lombok.RequiredArgsConstructor;
-
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -12,9 +14,12 @@ import com.gyojincompany.home.entity.Role;
 import com.gyojincompany.home.entity.User;
 import com.gyojincompany.home.repository.UserRepository;
 
+import java.util.List;
+
 //스프링부트가 시작될 때 자동으로 실행되며, 기본 관리자(admin) 계정과 일반 사용자(user) 계정을 미리 데이터베이스에 넣어주는 역할을 하는 클래스
 //처음 서버를 실행했을 때 관리자 계정이 없어서 로그인 못 하는 상황을 막기 위해 생성하는 클래스
 //-> 테스트용 기본 계정(user/admin)을 자동으로 준비해주는 용도
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
@@ -23,10 +28,14 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    
     @Override
     public void run(String... args) {
+        backfillEmailNormalized(); //email_normalized 컬럼 추가 전에 가입한 회원 값 채우기
+        
         // Admin 계정이 없으면 생성
-        if (!userRepository.existsByEmail("admin@example.com")) { //DB에 "admin@example.com" 이메일 가진 계정이 없다면, 관리자 계정 DB에 생성
+        if (!userRepository.existsByEmailNormalized("admin@example.com")) { //DB에 "admin@example.com" 이메일 가진 계정이 없다면, 관리자 계정 DB에 생성
             User admin = User.builder() //user 객체 생성 후 아래 내용을 넣어 admin user로 DB에 저장 
                     .email("admin@example.com")
                     .password(passwordEncoder.encode("admin123"))
@@ -35,11 +44,11 @@ public class DataInitializer implements CommandLineRunner {
                     .provider(AuthProvider.LOCAL)
                     .build();
             userRepository.save(admin);
-            System.out.println("Admin account created: admin@example.com / admin123");
+            log.info("Admin account created: admin@example.com / admin123");
         }
         
         // 일반 User 계정이 없으면 생성
-        if (!userRepository.existsByEmail("user@example.com")) {
+        if (!userRepository.existsByEmailNormalized("user@example.com")) {
             User user = User.builder() //user 객체 생성 후 아래 내용을 넣어 일반 user로 DB에 저장
                     .email("user@example.com")
                     .password(passwordEncoder.encode("user123"))
@@ -48,7 +57,29 @@ public class DataInitializer implements CommandLineRunner {
                     .provider(AuthProvider.LOCAL)
                     .build();
             userRepository.save(user);
-            System.out.println("User account created: user@example.com / user123");
+            log.info("User account created: user@example.com / user123");
+        }
+    }
+    
+    //email_normalized가 비어 있는 회원을 id 순서로 BACKFILL_BATCH_SIZE명씩 읽어서 User.normalizeEmail 값으로 채움
+    private void backfillEmailNormalized() {
+        int backfilled = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findMissingEmailNormalized(afterId, Limit.of(BACKFILL_BATCH_SIZE));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                afterId = id;
+                try {
+                    backfilled += userRepository.backfillEmailNormalized(id, User.normalizeEmail((String) row[1]));
+                } catch (DataIntegrityViolationException e) { //대소문자/공백만 다른 이메일이 이미 있음 -> 값을 비워 두고 관리자가 정리
+                    log.warn("email_normalized backfill skipped (duplicate normalized email): userId={}", id);
+                }
+            }
+        } while (rows.size() == BACKFILL_BATCH_SIZE);
+        if (backfilled > 0) {
+            log.info("email_normalized backfilled: {}", backfilled);
         }
     }
 }
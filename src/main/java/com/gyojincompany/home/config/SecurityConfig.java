@@ -1,22 +1,28 @@
 package com.gyojincompany.home.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,8 +30,14 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.ForwardedHeaderFilter;
 
+import com.gyojincompany.home.security.AuthMetrics;
+import com.gyojincompany.home.security.BoundedPasswordEncoder;
+import com.gyojincompany.home.security.CalibratedBCryptPasswordEncoder;
 import com.gyojincompany.home.security.JwtAuthenticationFilter;
+import com.gyojincompany.home.security.RehashingAuthenticationProvider;
+import com.gyojincompany.home.security.oauth2.CookieOAuth2AuthorizationRequestRepository;
 import com.gyojincompany.home.security.oauth2.CustomOAuth2UserService;
+import com.gyojincompany.home.security.oauth2.OAuth2HttpClients;
 import com.gyojincompany.home.security.oauth2.OAuth2SuccessHandler;
 
 //결국 “백엔드 API에 누가 들어올 수 있나?”를 통제하는 문지기 역할을 하는 클래스가 SecurityConfig 임!
@@ -39,15 +51,46 @@ public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
+    private final OAuth2HttpClients oAuth2HttpClients;
+    private final CookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
+    private final AuthMetrics authMetrics;
+    
+    @Value("${auth.password-hashing.threads:0}") //비밀번호 해시 전용 스레드 수 (0이면 CPU 코어 수)
+    private int passwordHashingThreads;
+    
+    @Value("${auth.password-hashing.queue-capacity:64}") //해시 대기열 크기 -> 가득 차면 429로 바로 실패
+    private int passwordHashingQueueCapacity;
+    
+    @Value("${auth.password-hashing.import-concurrency:0}") //회원 일괄 등록이 동시에 쓸 해시 스레드 수 (0이면 전체의 절반)
+    private int passwordHashingImportConcurrency;
+    
+    @Value("${auth.password-hashing.bcrypt.strength:10}") //calibrate가 false일 때 사용할 BCrypt 비용
+    private int bcryptStrength;
+    
+    @Value("${auth.password-hashing.bcrypt.calibrate:false}") //true면 서버 시작 시 해시 1번이 target-millis에 가깝도록 비용을 자동으로 정함
+    private boolean bcryptCalibrate;
+    
+    @Value("${auth.password-hashing.bcrypt.target-millis:50}")
+    private long bcryptTargetMillis;
+    
+    @Value("${auth.password-hashing.bcrypt.min-strength:10}") //보정 결과가 이보다 낮아지지 않도록 (보안 하한)
+    private int bcryptMinStrength;
+    
+    @Value("${auth.password-hashing.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) //SPA + JWT에서는 필요 없음 → 꺼버림
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() //스트리밍 응답(회원 내보내기)의 비동기 디스패치 -> 최초 요청에서 이미 권한 검사를 마침
                 .requestMatchers("/api/auth/**", "/oauth2/**", "/login/oauth2/**","/api/test").permitAll() //어떤 URL을 로그인 과정 없이 열어줄지 설정                
+                .requestMatchers("/.well-known/jwks.json").permitAll() //다른 서버가 토큰 검증용 공개키를 가져가는 주소
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll() //모니터링 수집 -> 외부에 공개하지 않는 관리 포트(management.server.port)에서만 열림
                 .requestMatchers("/api/admin/**").hasRole("ADMIN") // api/admin 하위 요청은 관리자로 로그인했을때만 접근 가능하게 설정
                 .requestMatchers("/api/user/**").hasAnyRole("USER", "ADMIN") // api/user 하위 USER 또는 ADMIN 둘 다 접근 가능
                 .anyRequest().authenticated() //나머지 요청은 모두 로그인 해야지만 접근가능하게 설정
@@ -65,6 +108,13 @@ public class SecurityConfig {
                 //-> 모든 서버에서 같은 결과를 내기 때문에 확장에 유리함 -> 리액트 같은 프론트엔드와 스프링부트 백엔드를 분리하여 배포하는 경우 적용해야 함
             )
             .oauth2Login(oauth2 -> oauth2 //구글 로그인 설정
+                .authorizationEndpoint(authorization -> authorization
+                    .authorizationRequestRepository(authorizationRequestRepository)
+                    //로그인 시작~콜백 사이의 인가 요청을 세션 대신 암호화 쿠키에 보관 -> 콜백이 다른 서버로 가도 로그인 완료 (sticky session 불필요)
+                )
+                .tokenEndpoint(token -> token
+                    .accessTokenResponseClient(tokenResponseClient()) //인가 코드 -> 토큰 교환도 공급자별 연결 풀 + 타임아웃 적용
+                )
                 .userInfoEndpoint(userInfo -> userInfo
                     .userService(customOAuth2UserService)
                 )
@@ -77,11 +127,19 @@ public class SecurityConfig {
         return http.build();
     }
     
+    private OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> tokenResponseClient() {
+        OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> client = oAuth2HttpClients.tokenResponseClient();
+        return grantRequest -> authMetrics.time(AuthMetrics.Stage.OAUTH2_TOKEN,
+                AuthMetrics.providerOf(grantRequest.getClientRegistration().getRegistrationId()),
+                () -> client.getTokenResponse(grantRequest)); //공급자별 토큰 교환 소요 시간/결과 기록 (auth.oauth2.token)
+    }
+    
     @Bean
     public AuthenticationProvider authenticationProvider() { //일반 로그인(id와 비번 사용하는 로그인) 시 인증 실행
     	//AuthenticationProvider 타입의 객체를 생성하고 반환하는 메서드를 정의 -> 주석에 따라 일반 로그인 시 인증을 실행하는 역할
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(); 
-        //**DaoAuthenticationProvider**의 인스턴스를 생성 -> Provider는 데이터 접근 객체(DAO)를 통해 사용자 정보를 인증하는 표준 구현체
+        RehashingAuthenticationProvider authProvider = new RehashingAuthenticationProvider(userDetailsPasswordService, authMetrics); 
+        //**DaoAuthenticationProvider**를 확장한 인스턴스를 생성 -> Provider는 데이터 접근 객체(DAO)를 통해 사용자 정보를 인증하는 표준 구현체
+        //로그인 성공 시 저장된 해시가 지금 설정과 다르면 백그라운드에서 새 해시로 교체
         authProvider.setUserDetailsService(userDetailsService); //DB에서 사용자 찾기
         //DaoAuthenticationProvider가 사용자 정보를 DB 등에서 가져올 때 사용할 UserDetailsService 구현체를 설정
         authProvider.setPasswordEncoder(passwordEncoder()); //찾은 사용자의 비밀번호를 로그인할때 넣은 비밀번호와 암호화한 한 후 비교 
@@ -97,8 +155,18 @@ public class SecurityConfig {
     }
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() { //BCrypt 해시/비교를 요청 스레드가 아닌 CPU 코어 수만큼의 전용 스레드에서 실행
+        int threads = passwordHashingThreads > 0 ? passwordHashingThreads : Runtime.getRuntime().availableProcessors();
+        int strength = bcryptCalibrate
+                ? CalibratedBCryptPasswordEncoder.calibrate(bcryptTargetMillis, bcryptMinStrength, bcryptMaxStrength)
+                : bcryptStrength;
+        PasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(strength);
+        
+        //새 해시는 "{bcrypt}$2a$..." 형식으로 저장 -> 나중에 다른 방식으로 바꿔도 prefix로 구분해서 예전 해시도 검사 가능
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); //prefix 없이 저장된 기존 회원의 해시는 BCrypt로 검사 (다음 로그인 때 prefix 붙은 해시로 교체)
+        int importConcurrency = passwordHashingImportConcurrency > 0 ? passwordHashingImportConcurrency : Math.max(1, threads / 2);
+        return new BoundedPasswordEncoder(delegating, threads, passwordHashingQueueCapacity, importConcurrency);
     }
     
     @Bean 
@@ -108,6 +176,7 @@ public class SecurityConfig {
 		config.setAllowedOrigins(Arrays.asList("*")); // 모든 Origin 허용 -> 어디에서 오는 요청이든 다 허용
 		config.setAllowedMethods(Arrays.asList("*")); // 모든 HTTP 메서드 허용 -> GET, POST, PUT, DELETE 등 전부 허용
 		config.setAllowedHeaders(Arrays.asList("*")); // 모든 헤더 허용 -> Authorization, Content-Type 같은 헤더 전부 허용	(JWT 받을 때 필요함!)
+		config.setExposedHeaders(Arrays.asList("X-Next-Cursor", "Retry-After")); // 프론트엔드(JS)에서 읽을 수 있게 공개할 응답 헤더 -> 회원 목록 다음 페이지 커서, 429 재시도 시간
 		config.setAllowCredentials(false); //쿠키 포함 여부 설정 -> “쿠키 기반 인증은 안 쓸 거야” (JWT 방식을 쓰니까 보통 false)
 		config.applyPermitDefaultValues(); //기본 허용값 적용 -> CORS 기본 허용값도 같이 등록 (추가적인 기본 설정 포함)
 		source.registerCorsConfiguration("/**", config); //URL 패턴에 적용 -> 모든 URL API 경로에 방금 만든 CORS 설정을 적용
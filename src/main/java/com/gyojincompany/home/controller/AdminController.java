@@ -1,65 +1,231 @@
 package com.gyojincompany.home.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.dto.BulkUserDto.BulkResponse;
+import com.gyojincompany.home.dto.BulkUserDto.RoleChangeRequest;
+import com.gyojincompany.home.dto.BulkUserDto.UserSelector;
+import com.gyojincompany.home.dto.UserImportDto.ImportResponse;
+import com.gyojincompany.home.dto.UserImportDto.ImportRow;
+import com.gyojincompany.home.dto.UserSummary;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
 import com.gyojincompany.home.repository.UserRepository;
+import com.gyojincompany.home.security.AuthUser;
+import com.gyojincompany.home.security.BoundedPasswordEncoder;
+import com.gyojincompany.home.security.CustomUserDetailsService;
+import com.gyojincompany.home.security.JwtUtil;
+import com.gyojincompany.home.security.LoginThrottle;
+import com.gyojincompany.home.service.UserAdminService;
+import com.gyojincompany.home.service.UserExportService;
+import com.gyojincompany.home.service.UserImportService;
+import com.gyojincompany.home.service.UserStatistics;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final UserAdminService userAdminService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserStatistics userStatistics;
     
     @GetMapping("/dashboard") //관리자용 대시보드 정보 제공 요청
-    public ResponseEntity<Map<String, Object>> adminDashboard(@AuthenticationPrincipal User admin) {
-    	//JWT 인증 필터가 “이 요청 보낸 사람은 누구인지” 확인하기 위해 User 객체로 넣어주는 기능 -> 로그인한 관리자의 정보(admin 객체)를 자동으로 받음
-        Map<String, Object> response = new HashMap<>(); //응답 json 파일 만들기
+    public ResponseEntity<Map<String, Object>> adminDashboard(@AuthenticationPrincipal AuthUser admin) {
+    	//JWT 인증 필터가 “이 요청 보낸 사람은 누구인지” 확인하기 위해 AuthUser(User 또는 TokenPrincipal) 객체로 넣어주는 기능 -> 로그인한 관리자의 정보(admin 객체)를 자동으로 받음
+        Map<String, Object> response = new LinkedHashMap<>(); //응답 json 파일 만들기
         response.put("message", "Welcome to Admin Dashboard"); //관리자 대시보드 환영 메시지 넣기
         response.put("admin", admin.getName()); //admin 계정의 username 넣기
-        response.put("totalUsers", userRepository.count()); //모든 유저의 인원수를 DB에서 가져와서 넣기
+        response.putAll(userStatistics.getSnapshot());
+        //전체/권한별/가입경로별 회원 수 + 최근 가입 추이 -> DB COUNT(*) 대신 메모리 카운터에서 바로 읽음
         
         return ResponseEntity.ok(response);
     }
     
-    @GetMapping("/users") //전체 유저 목록 조회 요청
-    public ResponseEntity<List<Map<String, Object>>> getAllUsers() {  
-        List<User> users = userRepository.findAll(); //DB에서 모든 User 가져오기
+    @GetMapping("/users") //유저 목록 조회 요청 -> ?afterId=커서&size=50&role=USER&provider=GOOGLE
+    public ResponseEntity<List<UserSummary>> getAllUsers(@RequestParam(defaultValue = "0") long afterId,
+                                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                         @RequestParam(required = false) Role role,
+                                                         @RequestParam(required = false) AuthProvider provider) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE)); //한 번에 너무 많이 읽지 않도록 상한
+        List<UserSummary> users = userRepository.findSummaries(afterId, role, provider, Limit.of(pageSize));
+        //엔티티가 아닌 화면에 필요한 컬럼만 DTO로 조회 (비밀번호 해시는 읽지 않음)
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == pageSize) { //다음 페이지가 있을 수 있으면 다음 요청의 afterId로 쓸 값을 헤더로 알려줌
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).id()));
+        }
+        return response.body(users);
+    }
+    
+    @GetMapping("/users/export") //전체 회원 내보내기 -> ?format=ndjson|csv&afterId=이어받을 id (Accept-Encoding: gzip이면 압축)
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(defaultValue = "0") long afterId,
+                                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        UserExportService.Format exportFormat;
+        try {
+            exportFormat = UserExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid format");
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
         
-        List<Map<String, Object>> userList = users.stream().map(user -> { //모든 user list 만들기
-            Map<String, Object> userMap = new HashMap<>(); //한명의 user json 파일 만들기
-            userMap.put("id", user.getId());
-            userMap.put("email", user.getEmail());
-            userMap.put("name", user.getName());
-            userMap.put("role", user.getRole().name());
-            userMap.put("provider", user.getProvider().name());
-            userMap.put("createdAt", user.getCreatedAt());
-            return userMap;
-        }).collect(Collectors.toList());
+        //응답 본문은 DB에서 읽는 대로 바로 써 내려감 -> 회원 수와 상관없이 메모리 사용량 일정
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            userExportService.export(target, exportFormat, afterId);
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
         
-        return ResponseEntity.ok(userList);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == UserExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.toLowerCase(Locale.ROOT)).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    //Accept-Encoding의 coding 목록에서 gzip(없으면 *)의 q 값을 보고 판단 -> "gzip;q=0"은 거부, "x-gzip"은 다른 coding으로 취급
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                    accepted = isNonZeroQuality(param.substring(2).trim());
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted; //gzip을 직접 적었으면 그 q 값이 우선
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+    
+    private static boolean isNonZeroQuality(String qvalue) { //q=0, 0.0, 0.000 -> 받지 않음 (형식이 틀리면 받지 않는 쪽으로)
+        try {
+            return Double.parseDouble(qvalue) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    @PostMapping("/users/import") //회원 일괄 등록 -> [{ "email", "password", "name", "role" }, ...] 행마다 결과(CREATED, ALREADY_EXISTS 등) 반환
+    public ResponseEntity<ImportResponse> importUsers(@RequestBody List<ImportRow> rows) {
+        return ResponseEntity.ok(userImportService.importUsers(rows));
     }
     
     @DeleteMapping("/users/{userId}") //특정 유저 삭제 요청
     public ResponseEntity<Map<String, String>> deleteUser(@PathVariable Long userId) {
-        if (!userRepository.existsById(userId)) { //해당 userId가 존재하는지 DB에서 확인
+        if (userAdminService.deleteUsers(new UserSelector(List.of(userId), null, null)) == 0) {
+            //DELETE 한 문장으로 삭제 + 캐시/토큰 세대/리프레시 토큰 세션 정리 (삭제된 행이 없으면 없는 회원)
             throw new RuntimeException("User not found");
         }
         
-        userRepository.deleteById(userId); //DB에서 특정 userId 삭제
-        
         Map<String, String> response = new HashMap<>();
         response.put("message", "User deleted successfully"); //삭제 성공시 성공 메시지 넣기
         
         return ResponseEntity.ok(response); //회원 삭제 성공 후 “User deleted successfully” 메시지 반환
     }
+    
+    @PatchMapping("/users/{userId}/role") //특정 유저 권한 변경 요청 -> { "role": "ADMIN" }
+    public ResponseEntity<Map<String, String>> changeUserRole(@PathVariable Long userId, @RequestBody Map<String, String> request) {
+        Role role;
+        try {
+            role = Role.valueOf(String.valueOf(request.get("role")));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid role");
+        }
+        
+        if (userAdminService.changeRole(new UserSelector(List.of(userId), null, null), role) == 0) {
+            //권한 변경 + 토큰 세대 올리기를 UPDATE 한 문장으로 (예전 권한이 담긴 Access Token은 더 이상 쓸 수 없음)
+            throw new RuntimeException("User not found");
+        }
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "User role updated successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/users/bulk-delete") //여러 회원 한 번에 삭제 -> { "ids": [1, 2, 3] } 또는 { "role": "USER", "provider": "NAVER" }
+    public ResponseEntity<BulkResponse> bulkDeleteUsers(@RequestBody UserSelector target) {
+        return ResponseEntity.ok(new BulkResponse("Users deleted successfully", userAdminService.deleteUsers(target)));
+    }
+    
+    @PostMapping("/users/bulk-role") //여러 회원 권한 한 번에 변경 -> { "target": { "ids": [1, 2] }, "newRole": "ADMIN" }
+    public ResponseEntity<BulkResponse> bulkChangeRole(@RequestBody RoleChangeRequest request) {
+        return ResponseEntity.ok(new BulkResponse("User roles updated successfully",
+                userAdminService.changeRole(request.getTarget(), request.getNewRole())));
+    }
+    
+    @GetMapping("/cache/user-details") //회원 정보 캐시의 hit/miss/eviction 통계 조회
+    public ResponseEntity<Map<String, Object>> userDetailsCacheStats() {
+        return ResponseEntity.ok(userDetailsService.getCacheStats());
+    }
+    
+    @GetMapping("/cache/verified-tokens") //검증된 토큰 캐시의 hit/miss/eviction 통계 조회
+    public ResponseEntity<Map<String, Object>> verifiedTokenCacheStats() {
+        return ResponseEntity.ok(jwtUtil.getVerifiedTokenCacheStats());
+    }
+    
+    @GetMapping("/metrics/password-hashing") //비밀번호 해시 전용 스레드 풀의 대기열 길이, 거절 수, 해시 지연 시간 조회
+    public ResponseEntity<Map<String, Object>> passwordHashingMetrics() {
+        return ResponseEntity.ok(passwordEncoder.getMetrics());
+    }
+    
+    @GetMapping("/login-throttle") //로그인 시도 제한으로 잠긴 이메일/IP 목록과 거절 횟수 조회
+    public ResponseEntity<Map<String, Object>> loginThrottleStatus() {
+        return ResponseEntity.ok(loginThrottle.getStatus());
+    }
+    
+    @DeleteMapping("/login-throttle") //특정 이메일 또는 IP의 잠금 해제 -> ?email=a@b.com 또는 ?ip=1.2.3.4
+    public ResponseEntity<Map<String, String>> unlockLogin(@RequestParam(required = false) String email,
+                                                           @RequestParam(required = false) String ip) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", loginThrottle.unlock(email, ip) ? "Login unlocked" : "No lockout found");
+        return ResponseEntity.ok(response);
+    }
 }
@@ -1,5 +1,6 @@
 package com.gyojincompany.home.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,12 +26,18 @@ public class AuthController { //로그인/회원가입/JWT 재발급을 담당
     }
     
     @PostMapping("/login") //AuthService가 이메일과 비번 검증 후 -> Access Token(JWT) 발급 -> Refresh Token 발급
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        //ForwardedHeaderFilter가 X-Forwarded-For를 반영하므로 getRemoteAddr()가 프록시가 아닌 실제 클라이언트 IP
+        return ResponseEntity.ok(authService.login(request, httpRequest.getRemoteAddr()));
     }
     
     @PostMapping("/refresh") //토큰 재발급 : AuthService는 refreshToken 유효한지 확인 -> 새 accessToken 발급 -> 필요하면 refreshToken도 갱신
     public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         return ResponseEntity.ok(authService.refreshToken(request));
     }
+    
+    @PostMapping("/logout") //리프레시 토큰의 로그인 세션 폐기 -> 이후 그 세션의 리프레시 토큰으로는 재발급 불가
+    public ResponseEntity<MessageResponse> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.logout(request));
+    }
 }
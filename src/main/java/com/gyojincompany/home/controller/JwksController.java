@@ -0,0 +1,36 @@
+package com.gyojincompany.home.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.gyojincompany.home.security.JwtKeyStore;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+//다른 서버(서비스)들이 우리 토큰을 직접 검증할 수 있도록 검증용 공개키 목록(JWKS)을 공개하는 컨트롤러
+//-> 응답은 캐시 가능하게 내려주므로 다른 서버는 이 값을 받아두고 매 요청마다 우리 서버를 호출하지 않아도 됨
+public class JwksController {
+    
+    private final JwtKeyStore keyStore;
+    
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(WebRequest request) {
+        String etag = keyStore.getJwksEtag();
+        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic(); //키 교체 주기보다 충분히 짧게
+        if (request.checkNotModified(etag)) { //키가 바뀌지 않았으면 본문 없이 304 반환 (If-None-Match의 W/ 약한 비교, 쉼표로 나열한 여러 값, * 모두 처리)
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(keyStore.getJwksJson());
+    }
+}
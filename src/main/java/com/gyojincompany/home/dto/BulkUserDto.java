@@ -0,0 +1,37 @@
+package com.gyojincompany.home.dto;
+
+import lombok.*;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+
+import java.util.List;
+
+public class BulkUserDto { //관리자 일괄 삭제/권한 변경 요청/응답 DTO 묶음
+    
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserSelector { //대상 회원 -> ids를 주거나, ids 없이 role/provider 조건으로 지정 (아무 조건도 없으면 거부)
+        private List<Long> ids;
+        private Role role;
+        private AuthProvider provider;
+    }
+    
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoleChangeRequest { //일괄 권한 변경 -> { "target": { "ids": [1, 2] }, "newRole": "ADMIN" }
+        private UserSelector target;
+        private Role newRole;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class BulkResponse {
+        private String message;
+        private int affected; //실제로 삭제/변경된 회원 수
+    }
+}
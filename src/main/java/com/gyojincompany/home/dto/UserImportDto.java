@@ -0,0 +1,47 @@
+package com.gyojincompany.home.dto;
+
+import lombok.*;
+
+import com.gyojincompany.home.entity.Role;
+
+import java.util.List;
+
+public class UserImportDto { //관리자 회원 일괄 등록(테넌트 이전) 요청/응답 DTO 묶음
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportRow { //등록할 회원 한 명 -> role을 비우면 USER
+        private String email;
+        private String password;
+        private String name;
+        private Role role;
+    }
+
+    public enum Status {
+        CREATED,            //새로 등록됨
+        DUPLICATE_IN_REQUEST, //같은 요청 안에 같은 이메일이 먼저 나옴
+        ALREADY_EXISTS,     //DB에 이미 있는 이메일
+        INVALID             //필수 값 누락, 비밀번호 6자 미만 등
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowResult { //요청 순서(index)대로 한 행씩 결과
+        private int index;
+        private String email;
+        private Status status;
+        private Long id; //CREATED일 때만 값이 있음
+        private String message;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ImportResponse {
+        private int total;
+        private int created;
+        private int skipped;
+        private List<RowResult> results;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gyojincompany.home.dto;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+
+import java.time.LocalDateTime;
+
+//관리자 회원 목록에 보여줄 컬럼만 담는 읽기 전용 DTO
+//-> JPQL에서 바로 이 record로 조회하므로 User 엔티티(비밀번호 해시 포함)를 영속성 컨텍스트에 올리지 않음
+public record UserSummary(
+        Long id,
+        String email,
+        String name,
+        Role role,
+        AuthProvider provider,
+        LocalDateTime createdAt) {
+}
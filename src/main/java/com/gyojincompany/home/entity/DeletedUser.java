@@ -0,0 +1,48 @@
+package com.gyojincompany.home.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "deleted_users", indexes = {
+        @Index(name = "idx_deleted_users_expires_at", columnList = "expiresAt") //표시가 필요 없어진 회원 일괄 삭제
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+//삭제된 회원 표시 (tombstone)
+//-> users 행은 지워지므로 토큰 세대를 올려 둘 곳이 없음 -> 여기에 남겨서 모든 서버의 TokenEpochRegistry가 다시 읽을 때(재시작 포함) 그 회원의 토큰을 거부
+//-> 마지막으로 발급됐을 수 있는 Access Token이 만료되면(expiresAt) 더 필요 없으므로 삭제
+public class DeletedUser implements Persistable<Long> {
+    
+    @Id
+    private Long userId;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Transient
+    @Builder.Default
+    private boolean isNew = true; //id를 직접 넣는 엔티티라서 save() 시 불필요한 SELECT 없이 바로 INSERT 하도록 표시
+    
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+    
+    @Override
+    public Long getId() {
+        return userId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+}
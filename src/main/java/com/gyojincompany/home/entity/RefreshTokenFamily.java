@@ -0,0 +1,62 @@
+package com.gyojincompany.home.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_token_families_user_id", columnList = "userId"), //회원 삭제/권한 변경 시 해당 회원의 세션 전부 폐기
+        @Index(name = "idx_refresh_token_families_expires_at", columnList = "expiresAt") //만료된 세션 일괄 삭제
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+//로그인 1번 = 리프레시 토큰 family 1개
+//-> 리프레시 토큰을 쓸 때마다 generation이 1씩 올라가고 새 토큰이 발급됨
+//-> 이미 사용된(예전 generation) 토큰이 다시 들어오면 탈취된 것으로 보고 family 전체를 폐기(revoked)함
+public class RefreshTokenFamily implements Persistable<String> {
+    
+    @Id
+    @Column(length = 36)
+    private String id; //family id (UUID) -> 토큰의 fam 클레임
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private long generation; //현재 유효한 토큰의 세대 번호 -> 토큰의 gen 클레임
+    
+    @Column(nullable = false)
+    private boolean revoked; //true면 이 family의 모든 토큰 사용 불가
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt; //마지막으로 발급한 토큰의 만료시간 -> 지나면 백그라운드에서 삭제
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Transient
+    @Builder.Default
+    private boolean isNew = true; //id를 직접 넣는 엔티티라서 save() 시 불필요한 SELECT 없이 바로 INSERT 하도록 표시
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+}
@@ -1,7 +1,19 @@
 package com.gyojincompany.home.entity;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum Role { //사용자가 어떤 권한(등급)을 가지고 있는지 표시하는 값을 모아둔 enum
-    USER, ADMIN
+    USER, ADMIN;
+    
+    //Role마다 권한 목록을 미리 한 번만 만들어 둠 -> 요청마다 SimpleGrantedAuthority를 새로 만들 필요 없음
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + name()));
+    
+    public List<GrantedAuthority> getAuthorities() { //USER → [ROLE_USER], ADMIN → [ROLE_ADMIN]
+        return authorities;
+    }
 }
 
 //이 코드는 “회원 등급 목록”이라고 보면 됨
@@ -13,4 +25,4 @@ public enum Role { //사용자가 어떤 권한(등급)을 가지고 있는지 
 //Spring Security에서 권한 체크할 때 사용
 // /admin/** 주소는 ADMIN만 접근 가능
 // 일반 페이지는 USER도 접근 가능
-// -> 이런 식으로 접근 제어를 하기 위한 정보임
\ No newline at end of file
+// -> 이런 식으로 접근 제어를 하기 위한 정보임
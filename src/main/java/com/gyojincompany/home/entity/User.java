@@ -3,17 +3,25 @@ package com.gyojincompany.home.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+import com.gyojincompany.home.security.AuthUser;
+
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
 
 @Entity
-@Table(name = "users") //users 테이블과 연동
+@Table(name = "users", indexes = { //users 테이블과 연동
+        @Index(name = "idx_users_token_version", columnList = "tokenVersion"), //tokenVersion > 0 인 회원만 골라 읽음
+        @Index(name = "idx_users_role_id", columnList = "role, id"), //관리자 회원 목록 권한 필터 + id 커서 페이지
+        @Index(name = "idx_users_provider_id", columnList = "provider, id"), //관리자 회원 목록 가입경로 필터 + id 커서 페이지
+        @Index(name = "uk_users_provider_provider_id", columnList = "provider, providerId", unique = true)
+        //소셜 로그인 회원 조회(findByProviderAndProviderId) + 같은 소셜 계정이 두 번 저장되지 않도록 막음 (LOCAL 회원은 providerId가 NULL이라 제약 대상 아님)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,7 +35,7 @@ import java.util.Map;
 //.role(Role.USER)
 //.build();
 
-public class User implements UserDetails, OAuth2User {
+public class User implements UserDetails, OAuth2User, AuthUser {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,6 +44,12 @@ public class User implements UserDetails, OAuth2User {
     @Column(unique = true, nullable = false)
     private String email;
     
+    //비교/조회용 이메일 (앞뒤 공백 제거 + 소문자) -> 저장/수정 직전에 email에서 자동으로 채움
+    //-> 조회는 이 컬럼의 unique 인덱스로 정확히 일치하는 값만 찾으므로 대소문자 무시 비교(collation/LOWER)에 기대지 않음
+    //-> 컬럼 추가 전에 가입한 회원은 값이 비어 있을 수 있어 DDL은 nullable (DataInitializer가 시작할 때 채움)
+    @Column(unique = true)
+    private String emailNormalized;
+    
     @Column(nullable = false)
     private String password;
     
@@ -51,6 +65,9 @@ public class User implements UserDetails, OAuth2User {
     
     private String providerId; //구글 또는 네이버에서 제공하는 고유 사용자 ID
     
+    @Column(nullable = false)
+    private long tokenVersion; //토큰 세대 -> 권한 변경 등으로 1 올리면 그 전에 발급된 Access Token은 만료 전이라도 거부됨
+    
     @Column(nullable = false, updatable = false) //수정 불가 설정
     private LocalDateTime createdAt; //회원 가입일
     
@@ -61,17 +78,23 @@ public class User implements UserDetails, OAuth2User {
     protected void onCreate() { //
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        emailNormalized = normalizeEmail(email);
     }
     
     @PreUpdate //엔티티가 업데이트되기 직전에 현재 시간을 설정 → 회원 정보 업데이트 시 자동 실행
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        emailNormalized = normalizeEmail(email);
+    }
+    
+    public static String normalizeEmail(String email) { //대소문자/앞뒤 공백만 다른 이메일은 같은 계정으로 취급
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
     }
     
     @Override //유저 권한을 반환하는 메서드
     public Collection<? extends GrantedAuthority> getAuthorities() { //중요! 사용자의 권한을 Spring Security에 알려주는 부분
     	//role = USER → “ROLE_USER”,  role = ADMIN → “ROLE_ADMIN” 로 반환
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return role.getAuthorities(); //Role마다 미리 만들어 둔 권한 목록 재사용
     }
     
     @Override
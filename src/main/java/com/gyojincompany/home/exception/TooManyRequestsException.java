@@ -0,0 +1,16 @@
+package com.gyojincompany.home.exception;
+
+import lombok.Getter;
+
+@Getter
+//서버가 바빠서(또는 요청이 너무 많아서) 지금은 처리할 수 없을 때 던지는 예외 -> GlobalExceptionHandler가 429 + Retry-After 헤더로 응답
+//-> 과부하 상황에서 대량으로 발생하므로 스택 트레이스를 만들지 않음
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds; //클라이언트가 몇 초 뒤에 다시 시도하면 되는지
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = Math.max(retryAfterSeconds, 1);
+    }
+}
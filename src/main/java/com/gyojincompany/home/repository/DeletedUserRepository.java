@@ -0,0 +1,25 @@
+package com.gyojincompany.home.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gyojincompany.home.entity.DeletedUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletedUserRepository extends JpaRepository<DeletedUser, Long> {
+    
+    @Query("select d.userId from DeletedUser d where d.expiresAt > :now") //아직 토큰이 남아 있을 수 있는 삭제 회원 (TokenEpochRegistry)
+    List<Long> findActiveUserIds(@Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("delete from DeletedUser d where d.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
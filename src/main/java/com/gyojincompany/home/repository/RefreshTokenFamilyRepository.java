@@ -0,0 +1,40 @@
+package com.gyojincompany.home.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gyojincompany.home.entity.RefreshTokenFamily;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+    
+    //현재 generation과 일치할 때만 다음 세대로 올림 -> 여러 서버/요청이 동시에 같은 토큰을 써도 단 하나만 성공 (PK 기준 UPDATE 1번)
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.generation = f.generation + 1, f.expiresAt = :expiresAt " +
+           "where f.id = :id and f.generation = :generation and f.revoked = false")
+    int rotate(@Param("id") String id, @Param("generation") long generation, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.id = :id")
+    int revoke(@Param("id") String id);
+    
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.userId in :userIds and f.revoked = false")
+    int revokeAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    //만료된 family를 한 번에 limit개씩만 삭제 -> 큰 DELETE 한 번으로 테이블을 오래 잠그지 않도록 나눠서 실행
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_token_families WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -1,17 +1,98 @@
 package com.gyojincompany.home.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.gyojincompany.home.dto.UserSummary;
 import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
 import com.gyojincompany.home.entity.User;
 
-
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-    Boolean existsByEmail(String email);
+    //email 인자는 User.normalizeEmail로 바꾼 값 -> email_normalized unique 인덱스로 정확히 일치하는 행만 찾음
+    Optional<User> findByEmailNormalized(String emailNormalized);
+    boolean existsByEmailNormalized(String emailNormalized);
     Optional<User> findByProviderAndProviderId(AuthProvider provider, String providerId);
+    
+    //관리자 회원 목록 -> id 커서(afterId 다음부터) 방식 페이지 조회, role/provider가 null이면 해당 조건 없음
+    //OFFSET 없이 인덱스에서 바로 다음 위치부터 읽으므로 뒤쪽 페이지도 첫 페이지와 같은 속도, 화면에 필요한 컬럼만 조회
+    @Query("select new com.gyojincompany.home.dto.UserSummary(u.id, u.email, u.name, u.role, u.provider, u.createdAt) " +
+           "from User u where u.id > :afterId and (:role is null or u.role = :role) " +
+           "and (:provider is null or u.provider = :provider) order by u.id")
+    List<UserSummary> findSummaries(@Param("afterId") long afterId, @Param("role") Role role,
+                                    @Param("provider") AuthProvider provider, Limit limit);
+    
+    @Query("select u.id, u.tokenVersion from User u where u.tokenVersion > 0") //[id, tokenVersion] -> 세대가 올라간 회원만 (TokenEpochRegistry)
+    List<Object[]> findNonZeroTokenVersions();
+    
+    @Query("select u.role, u.provider, count(u) from User u group by u.role, u.provider") //[role, provider, 회원 수] (UserStatistics)
+    List<Object[]> countByRoleAndProvider();
+    
+    //일괄 삭제/권한 변경 대상 -> [id, email, role, provider] (캐시 무효화에 email, 회원 통계 갱신에 role/provider가 필요)
+    @Query("select u.id, u.email, u.role, u.provider from User u where u.id in :ids")
+    List<Object[]> findTargetsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("select u.id, u.email, u.role, u.provider from User u where (:role is null or u.role = :role) " +
+           "and (:provider is null or u.provider = :provider) order by u.id")
+    List<Object[]> findTargetsByFilter(@Param("role") Role role, @Param("provider") AuthProvider provider, Limit limit);
+    
+    @Query("select u.id, u.tokenVersion from User u where u.id in :ids")
+    List<Object[]> findTokenVersionsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    //email_normalized 컬럼이 생기기 전에 가입한 회원 (id 커서로 나눠 읽음) -> 값은 User.normalizeEmail과 똑같이 자바에서 계산해서 채움
+    //(DB의 lower/trim은 공백 문자, 대소문자 변환 규칙이 Java와 달라 로그인 조회 값과 어긋날 수 있음)
+    @Query("select u.id, u.email from User u where u.emailNormalized is null and u.id > :afterId order by u.id")
+    List<Object[]> findMissingEmailNormalized(@Param("afterId") long afterId, Limit limit);
+    
+    @Transactional
+    @Modifying
+    @Query("update User u set u.emailNormalized = :emailNormalized where u.id = :id and u.emailNormalized is null")
+    int backfillEmailNormalized(@Param("id") Long id, @Param("emailNormalized") String emailNormalized);
+    
+    //엔티티를 읽지 않고 DELETE 한 문장으로 삭제 (deleteById/deleteAll은 한 명씩 SELECT 후 DELETE)
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+    
+    //권한 변경 + 토큰 세대 올리기를 UPDATE 한 문장으로 (예전 권한이 담긴 Access Token 즉시 거부)
+    @Modifying
+    @Query("update User u set u.role = :role, u.tokenVersion = u.tokenVersion + 1, u.updatedAt = :now where u.id in :ids")
+    int updateRoleByIdIn(@Param("ids") Collection<Long> ids, @Param("role") Role role, @Param("now") LocalDateTime now);
+    
+    //소셜 로그인 첫 가입 -> (provider, providerId) / email unique 인덱스에 걸리면 아무것도 하지 않음 (1 = 새로 저장, 0 = 이미 있음 -> useAffectedRows=true 필요)
+    //-> INSERT IGNORE와 달리 중복 키 외의 오류(컬럼 길이 초과 등)는 경고로 삼키지 않고 예외로 올라옴
+    //-> 두 탭에서 동시에 첫 로그인이 끝나도 INSERT 한 문장으로 한 명만 저장되고, 나머지는 예외 없이 저장된 회원을 다시 읽어서 씀
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO users (email, email_normalized, password, name, role, provider, provider_id, token_version, created_at, updated_at) " +
+                   "VALUES (:email, :emailNormalized, '', :name, 'USER', :provider, :providerId, 0, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    int insertOAuthUserIfAbsent(@Param("email") String email, @Param("emailNormalized") String emailNormalized,
+                                @Param("name") String name, @Param("provider") String provider,
+                                @Param("providerId") String providerId, @Param("now") LocalDateTime now);
+    
+    //소셜 계정의 이름/이메일이 바뀌었을 때만 호출 -> 엔티티를 merge하지 않고 바뀐 컬럼만 UPDATE
+    @Transactional
+    @Modifying
+    @Query("update User u set u.name = :name, u.email = :email, u.emailNormalized = :emailNormalized, u.updatedAt = :now where u.id = :id")
+    int updateOAuthProfile(@Param("id") Long id, @Param("name") String name, @Param("email") String email,
+                           @Param("emailNormalized") String emailNormalized, @Param("now") LocalDateTime now);
+    
+    //저장된 해시가 아직 oldPassword일 때만 교체 -> 그 사이 비밀번호가 바뀌었으면(동시 로그인의 다시 해시, 비밀번호 변경) 덮어쓰지 않음
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newPassword, u.updatedAt = :now where u.emailNormalized = :email and u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("email") String emailNormalized, @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,175 @@
+package com.gyojincompany.home.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.stereotype.Component;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.exception.TooManyRequestsException;
+
+import java.net.SocketTimeoutException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+@Component
+//인증 단계별 소요 시간/결과를 Micrometer Timer로 기록 (/actuator/prometheus로 노출)
+//-> 태그는 단계마다 outcome(success/failure), reason(expired, bad_signature, unknown_user ...), provider(소셜 로그인만) 로 고정된 값만 사용
+//   (이메일, 토큰 등 값이 계속 늘어나는 태그는 넣지 않음 -> 시계열 수가 일정)
+//-> Timer는 (단계, 공급자, 사유) 조합마다 처음 한 번만 registry에서 찾고 배열에 보관 -> 이후 기록은 배열 조회 + Timer.record뿐
+public class AuthMetrics {
+
+    public enum Stage {
+        JWT_VERIFY("auth.jwt.verify"),             //JwtUtil 토큰 파싱/서명 검증
+        JWT_AUTHENTICATE("auth.jwt.authenticate"), //JWT 필터 전체 (검증 + 회원 조회 + 토큰 세대 확인)
+        USER_LOAD("auth.user.load"),               //CustomUserDetailsService.loadUserByUsername (캐시 포함)
+        PASSWORD_MATCH("auth.password.match"),     //BCrypt 비교 (해시 전용 풀 대기 시간 포함)
+        LOGIN("auth.login"),                       //AuthService.login 전체
+        REFRESH("auth.refresh"),                   //AuthService.refreshToken 전체
+        OAUTH2_TOKEN("auth.oauth2.token"),         //인가 코드 -> 토큰 교환 (공급자 호출)
+        OAUTH2_USER_INFO("auth.oauth2.user_info"), //사용자 정보 API (공급자 호출)
+        OAUTH2_LOGIN("auth.oauth2.login");         //CustomOAuth2UserService.loadUser 전체 (공급자 호출 + DB 저장)
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    public enum Reason {
+        NONE,             //성공
+        EXPIRED,          //토큰 만료
+        BAD_SIGNATURE,    //서명 불일치 (위조/다른 키)
+        MALFORMED,        //형식 오류, 지원하지 않는 토큰, 알 수 없는 kid
+        UNKNOWN_USER,     //토큰/요청의 이메일에 해당하는 회원 없음
+        BAD_CREDENTIALS,  //비밀번호 불일치
+        REVOKED,          //토큰 세대가 지났거나 리프레시 세션이 폐기/재사용됨
+        THROTTLED,        //로그인 시도 제한 (LoginThrottle)
+        OVERLOADED,       //비밀번호 해시 대기열 가득 참
+        TIMEOUT,          //공급자 연결/응답 타임아웃
+        PROVIDER_ERROR,   //공급자 오류 응답
+        EMAIL_MISSING,    //공급자가 이메일을 주지 않음
+        EMAIL_CONFLICT,   //같은 이메일이 다른 가입경로로 등록됨
+        ERROR;            //그 외
+
+        private final String tagValue = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final AuthProvider[] PROVIDERS = AuthProvider.values();
+    private static final Reason[] REASONS = Reason.values();
+    private static final int PROVIDER_SLOTS = PROVIDERS.length + 1; //마지막 칸 = 공급자 태그 없음
+
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(STAGES.length * PROVIDER_SLOTS * REASONS.length);
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : new Stage[] {Stage.JWT_VERIFY, Stage.JWT_AUTHENTICATE, Stage.USER_LOAD, Stage.PASSWORD_MATCH, Stage.LOGIN, Stage.REFRESH}) {
+            timer(stage, null, Reason.NONE); //성공 Timer는 미리 등록 -> 요청이 오기 전에도 0으로 노출되어 대시보드/알림이 바로 동작
+        }
+    }
+
+    public void record(Stage stage, Reason reason, long startNanos) {
+        record(stage, null, reason, startNanos);
+    }
+
+    public void record(Stage stage, AuthProvider provider, Reason reason, long startNanos) {
+        timer(stage, provider, reason).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T time(Stage stage, AuthProvider provider, Supplier<T> action) { //성공/실패(예외 종류로 사유 분류)를 같이 기록
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            record(stage, provider, Reason.NONE, start);
+            return result;
+        } catch (RuntimeException e) {
+            record(stage, provider, reasonOf(e), start);
+            throw e;
+        }
+    }
+
+    public static AuthProvider providerOf(String registrationId) { //google -> GOOGLE, 모르는 값이면 null (provider 태그 없음)
+        for (AuthProvider provider : PROVIDERS) {
+            if (provider.name().equalsIgnoreCase(registrationId)) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    //예외 종류로 실패 사유 분류 (원인 예외까지 확인 -> 스프링이 감싸서 던진 예외도 분류됨)
+    public static Reason reasonOf(Throwable error) {
+        boolean providerError = false;
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof OAuth2AuthenticationException oauth2) {
+                Reason reason = byTagValue(oauth2.getError().getErrorCode()); //우리가 던진 email_missing, email_conflict 등
+                if (reason != null) {
+                    return reason;
+                }
+                providerError = true; //원인에 타임아웃이 있는지 계속 확인
+            }
+            if (e instanceof OAuth2AuthorizationException) {
+                providerError = true;
+            }
+            if (e instanceof ExpiredJwtException) {
+                return Reason.EXPIRED;
+            }
+            if (e instanceof SignatureException) {
+                return Reason.BAD_SIGNATURE;
+            }
+            if (e instanceof JwtException) {
+                return Reason.MALFORMED;
+            }
+            if (e instanceof UsernameNotFoundException) {
+                return Reason.UNKNOWN_USER;
+            }
+            if (e instanceof BadCredentialsException) {
+                return Reason.BAD_CREDENTIALS;
+            }
+            if (e instanceof TooManyRequestsException) {
+                return Reason.OVERLOADED;
+            }
+            if (e instanceof SocketTimeoutException
+                    || e.getClass().getSimpleName().endsWith("TimeoutException")) { //HttpClient ConnectTimeoutException, ConnectionRequestTimeoutException 등
+                return Reason.TIMEOUT;
+            }
+        }
+        return providerError ? Reason.PROVIDER_ERROR : Reason.ERROR;
+    }
+
+    private static Reason byTagValue(String value) {
+        for (Reason reason : REASONS) {
+            if (reason != Reason.NONE && reason.tagValue.equals(value)) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    private Timer timer(Stage stage, AuthProvider provider, Reason reason) {
+        int providerSlot = provider != null ? provider.ordinal() : PROVIDERS.length;
+        int index = (stage.ordinal() * PROVIDER_SLOTS + providerSlot) * REASONS.length + reason.ordinal();
+        Timer timer = timers.get(index);
+        if (timer == null) { //동시에 처음 만들어도 registry가 같은 Timer를 돌려주므로 문제 없음
+            Tags tags = Tags.of("outcome", reason == Reason.NONE ? "success" : "failure", "reason", reason.tagValue);
+            if (provider != null) {
+                tags = tags.and("provider", provider.name().toLowerCase(Locale.ROOT));
+            }
+            timer = Timer.builder(stage.metricName).tags(tags).register(registry);
+            timers.set(index, timer);
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,15 @@
+package com.gyojincompany.home.security;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+
+//컨트롤러에서 @AuthenticationPrincipal로 받는 "로그인한 사용자"의 공통 타입
+//-> DB에서 꺼낸 User 엔티티든, 토큰 클레임만으로 만든 TokenPrincipal이든 같은 방식으로 꺼내 쓸 수 있게 해줌
+public interface AuthUser {
+    Long getId();
+    String getEmail();
+    String getName();
+    Role getRole();
+    AuthProvider getProvider();
+    long getTokenVersion();
+}
@@ -0,0 +1,215 @@
+package com.gyojincompany.home.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.gyojincompany.home.exception.TooManyRequestsException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+//BCrypt 같은 CPU를 많이 쓰는 비밀번호 해시/비교를 요청 스레드가 아닌 전용 스레드 풀에서 실행하는 PasswordEncoder
+//-> 로그인이 몰려도 해시 작업은 CPU 코어 수만큼만 동시에 실행되고, 나머지 요청(토큰 인증 API 등)은 계속 처리됨
+//-> 대기열이 가득 차면 무한정 기다리지 않고 TooManyRequestsException(429 + Retry-After)으로 바로 실패
+//-> 회원 일괄 등록(encodeAll)도 같은 풀을 쓰되 한 번에 importConcurrency개까지만 넣어서 로그인 요청이 쓸 스레드/대기열을 남겨 둠
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+    private static final long IMPORT_RETRY_MILLIS = 50; //일괄 등록 작업을 대기열에 다시 넣기 전 양보하는 시간
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int importConcurrency; //일괄 등록이 동시에 풀에 넣을 수 있는 최대 해시 작업 수
+
+    private final LongAdder completed = new LongAdder(); //처리한 해시/비교 수
+    private final LongAdder totalNanos = new LongAdder(); //해시/비교에 걸린 시간 합계 (대기 시간 제외)
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder rejected = new LongAdder(); //대기열이 가득 차서 거절한 수
+
+    private final LongAdder importCompleted = new LongAdder(); //일괄 등록 해시 수 (로그인 지연 시간 통계에 섞이지 않도록 따로 집계)
+    private final LongAdder importTotalNanos = new LongAdder();
+    private final LongAdder importDeferred = new LongAdder(); //대기열이 가득 차서 로그인 요청에 양보하고 다시 넣은 수
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, int importConcurrency) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.importConcurrency = Math.max(1, Math.min(importConcurrency, threads));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) { //문자열 비교뿐이라 요청 스레드에서 바로 실행
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    //대량 등록용 -> 여러 비밀번호를 로그인과 같은 풀에서 해시하되 한 번에 importConcurrency개까지만 넣음 (나머지는 앞의 작업이 끝나는 대로 넣음)
+    //-> 풀 크기/대기열 한도를 그대로 지키고, 남는 스레드와 대기열은 로그인 요청이 씀
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (int i = 0; i < rawPasswords.size(); i++) {
+                if (i >= importConcurrency) {
+                    futures.get(i - importConcurrency).get(); //앞의 작업이 끝나야 다음 작업을 넣음
+                }
+                futures.add(submitImport(rawPasswords.get(i)));
+            }
+            List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(future.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Future<String> submitImport(CharSequence rawPassword) throws InterruptedException {
+        Callable<String> task = () -> {
+            long start = System.nanoTime();
+            try {
+                return delegate.encode(rawPassword);
+            } finally {
+                importCompleted.increment();
+                importTotalNanos.add(System.nanoTime() - start);
+            }
+        };
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) { //로그인이 몰려 대기열이 가득 참 -> 429로 실패하지 않고 잠시 양보한 뒤 다시 넣음
+                if (executor.isShutdown()) {
+                    throw e;
+                }
+                importDeferred.increment();
+                TimeUnit.MILLISECONDS.sleep(IMPORT_RETRY_MILLIS);
+            }
+        }
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("로그인 요청이 많아 잠시 후 다시 시도해 주세요.", retryAfterSeconds());
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void record(long nanos) {
+        completed.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private long retryAfterSeconds() { //지금 대기열을 다 처리하는 데 걸릴 예상 시간 (최소 1초)
+        long count = completed.sum();
+        long averageNanos = count > 0 ? totalNanos.sum() / count : TimeUnit.MILLISECONDS.toNanos(100);
+        long backlogNanos = averageNanos * (executor.getQueue().size() + executor.getActiveCount()) / executor.getMaximumPoolSize();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(backlogNanos) + 1);
+    }
+
+    public Map<String, Object> getMetrics() { //관리자 화면에서 확인할 대기열 길이, 해시 지연 시간
+        long count = completed.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", executor.getMaximumPoolSize());
+        result.put("activeCount", executor.getActiveCount());
+        result.put("queueDepth", executor.getQueue().size());
+        result.put("queueCapacity", queueCapacity);
+        result.put("completedCount", count);
+        result.put("rejectedCount", rejected.sum());
+        result.put("avgHashMillis", count > 0 ? totalNanos.sum() / count / 1_000_000.0 : 0.0);
+        result.put("maxHashMillis", maxNanos.get() / 1_000_000.0);
+        long importCount = importCompleted.sum();
+        result.put("importConcurrency", importConcurrency);
+        result.put("importCompletedCount", importCount);
+        result.put("importDeferredCount", importDeferred.sum());
+        result.put("importAvgHashMillis", importCount > 0 ? importTotalNanos.sum() / importCount / 1_000_000.0 : 0.0);
+        return result;
+    }
+
+    @Override //getMetrics()와 같은 값을 /actuator/prometheus로도 노출 (auth.password_hashing.*)
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.password_hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+        Gauge.builder("auth.password_hashing.queue_depth", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("auth.password_hashing.queue_capacity", () -> queueCapacity).register(registry);
+        Gauge.builder("auth.password_hashing.threads", executor, ThreadPoolExecutor::getMaximumPoolSize).register(registry);
+        FunctionCounter.builder("auth.password_hashing.completed", completed, LongAdder::sum).register(registry);
+        FunctionCounter.builder("auth.password_hashing.rejected", rejected, LongAdder::sum).register(registry);
+        //해시 소요 시간은 source 태그로 로그인(encode/matches)과 일괄 등록을 나눠서 노출
+        FunctionTimer.builder("auth.password_hashing.duration", this,
+                        e -> e.completed.sum(), e -> e.totalNanos.sum(), TimeUnit.NANOSECONDS)
+                .tag("source", "login").register(registry);
+        FunctionTimer.builder("auth.password_hashing.duration", this,
+                        e -> e.importCompleted.sum(), e -> e.importTotalNanos.sum(), TimeUnit.NANOSECONDS)
+                .tag("source", "import").register(registry);
+        FunctionCounter.builder("auth.password_hashing.import.deferred", importDeferred, LongAdder::sum).register(registry);
+    }
+
+    public void shutdown() { //애플리케이션 종료 시 스레드 정리 (Spring이 @Bean의 shutdown 메서드를 자동 호출)
+        executor.shutdown();
+    }
+}
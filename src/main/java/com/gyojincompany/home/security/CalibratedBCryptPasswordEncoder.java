@@ -0,0 +1,57 @@
+package com.gyojincompany.home.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+@Slf4j
+@Getter
+//BCrypt 비용(strength)을 서버 성능에 맞춰 정하고, 저장된 해시의 비용이 지금 설정과 다르면 다시 해시하도록 알려주는 PasswordEncoder
+//-> 기본 BCryptPasswordEncoder는 비용이 "낮을" 때만 upgradeEncoding이 true지만, 여기서는 높아도 true -> 비용을 올리거나 내려도 로그인 시 자동으로 맞춰짐
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final int MEASURE_STRENGTH = 8; //측정용 비용 (한 번에 수 ms 정도)
+    private static final int MEASURE_ROUNDS = 5;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) { //"$2a$10$..." 형식에서 비용 부분만 비교
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    //해시 1번이 targetMillis에 가장 가깝게 걸리는 비용 계산 -> 비용이 1 오를 때마다 시간이 2배가 되므로 낮은 비용에서 측정 후 환산
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MEASURE_STRENGTH);
+        encoder.encode("calibration"); //JIT 워밍업
+        long[] samples = new long[MEASURE_ROUNDS];
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double measuredMillis = samples[MEASURE_ROUNDS / 2] / 1_000_000.0; //중앙값 사용 (GC 등 튀는 값 제외)
+
+        int strength = MEASURE_STRENGTH + (int) Math.round(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info("BCrypt 비용 보정 - 비용 {}에서 {}ms -> 목표 {}ms에 맞춰 비용 {} 사용 (예상 {}ms)",
+                MEASURE_STRENGTH, String.format("%.2f", measuredMillis), targetMillis, strength,
+                String.format("%.1f", measuredMillis * Math.pow(2, strength - MEASURE_STRENGTH)));
+        return strength;
+    }
+}
@@ -1,16 +1,37 @@
 package com.gyojincompany.home.security;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
 import com.gyojincompany.home.repository.UserRepository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService, MeterBinder {
 //로그인할 때 이메일로 사용자를 찾아오는 역할만 하는 클래스
 //-> Spring Security가 로그인 시 필요한 사용자 정보(UserDetails)를 DB에서 꺼내오는 기능을 구현한 클래스.
 //Spring Security는 로그인할 때 이 동작을 실행 함 -> “사용자 이메일(username)로 회원 정보를 찾아와줘!”
@@ -21,10 +42,126 @@ public class CustomUserDetailsService implements UserDetailsService {
 //개발자가 만든 User 클래스는 왜 바로 안 쓰이는가? -> 스프링 시큐리티는 User 클래스의 객체가 무슨 객체인지 알수 없음.
 //그래서 직접 UserDetails를 구현해서 스프링이 이해하는 형태의 객체로 바꿔주어야 함.	
     private final UserRepository userRepository;
+    private final AuthMetrics authMetrics;
+    
+    @Value("${auth.user-cache.enabled:true}") //DB 조회 결과를 메모리에 잠시 보관할지 여부
+    private boolean cacheEnabled;
+    
+    @Value("${auth.user-cache.max-size:10000}") //최대 몇 명까지 보관할지 -> 넘으면 오래 안 쓴 항목부터 제거
+    private long maxSize;
+    
+    @Value("${auth.user-cache.ttl-seconds:60}") //보관 후 몇 초가 지나면 DB에서 다시 읽을지 (다른 서버에서 바뀐 정보가 이 서버에 늦게 반영될 수 있는 최대 시간)
+    private long ttlSeconds;
+    
+    //값 대신 CompletableFuture를 보관 -> DB 조회가 캐시 내부 락(ConcurrentHashMap.compute) 안에서 실행되지 않으므로
+    //가상 스레드 모드에서도 조회 중인 스레드가 캐리어 스레드에 고정(pinning)되지 않음
+    //-> 값은 JPA 엔티티가 아닌 불변 스냅샷 -> 여러 요청 스레드가 같은 객체를 공유해도 누가 setter로 바꿔서 다른 요청에 새어 나갈 일이 없음
+    private AsyncCache<String, CachedUser> cache;
+    private final LongAdder invalidations = new LongAdder(); //회원 삭제/수정으로 직접 제거한 횟수
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats() //hit, miss, eviction 횟수 기록
+                .buildAsync();
+    }
     
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email) //해당 email로 찾은 유저의 정보를 반환
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long start = System.nanoTime();
+        try {
+            UserDetails user = load(username);
+            authMetrics.record(AuthMetrics.Stage.USER_LOAD, AuthMetrics.Reason.NONE, start);
+            return user;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.USER_LOAD, AuthMetrics.reasonOf(e), start);
+            throw e;
+        }
+    }
+    
+    private UserDetails load(String username) {
+        String email = User.normalizeEmail(username); //캐시 키와 DB 조회 모두 정규화된 이메일 기준
+        if (!cacheEnabled) {
+            return findUser(email).toUser();
+        }
+        //같은 email로 동시에 여러 요청이 들어와도 DB 조회(findByEmailNormalized)는 한 번만 실행되고 나머지 요청은 그 결과를 기다렸다가 같이 씀
+        //-> 캐시에는 빈 future만 먼저 등록하고, 등록에 성공한 요청이 락 밖에서 직접 조회해서 결과를 채움
+        CompletableFuture<CachedUser> loading = new CompletableFuture<>();
+        CompletableFuture<CachedUser> future = cache.get(email, (key, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(findUser(email));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e); //실패한 future는 Caffeine이 캐시에서 자동으로 제거
+            }
+        }
+        try {
+            return future.join().toUser(); //요청마다 새 User로 만들어서 넘김 (받은 쪽에서 값을 바꿔도 캐시에는 영향 없음)
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause; //UsernameNotFoundException 등 원래 예외 그대로 전달
+            }
+            throw e;
+        }
+    }
+    
+    private CachedUser findUser(String email) {
+        return userRepository.findByEmailNormalized(email) //해당 email로 찾은 유저의 정보를 반환 (email_normalized 인덱스 일치 조회)
+                .map(CachedUser::from)
                 .orElseThrow(() -> new UsernameNotFoundException("해당 이메일에 대한 회원을 찾을 수 없습니다: " + email));
     }
+    
+    @Override
+    //로그인 성공 후 비밀번호 해시 방식/비용이 바뀌었으면 새 해시로 교체 (RehashingAuthenticationProvider가 백그라운드에서 호출)
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (userRepository.updatePasswordIfUnchanged(User.normalizeEmail(user.getUsername()), user.getPassword(), newPassword, LocalDateTime.now()) > 0) {
+            evict(user.getUsername()); //캐시에 예전 해시를 가진 User가 남지 않도록 제거
+        }
+        return user;
+    }
+    
+    public void evict(String email) { //회원 삭제, 이름 변경, 권한 변경 시 호출 -> 다음 요청에서 DB의 최신 정보를 다시 읽도록 캐시에서 제거
+        if (email != null && cache.asMap().remove(User.normalizeEmail(email)) != null) {
+            invalidations.increment();
+        }
+    }
+    
+    @Override //캐시 hit/miss/eviction을 cache.gets{cache="users"} 등으로 노출
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "users");
+        FunctionCounter.builder("auth.user_cache.invalidations", invalidations, LongAdder::sum)
+                .description("회원 삭제/수정으로 캐시에서 직접 제거한 수")
+                .register(registry);
+    }
+    
+    public Map<String, Object> getCacheStats() { //관리자 화면에서 확인할 캐시 통계
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", cacheEnabled);
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount()); //용량 초과/만료로 제거된 수
+        result.put("invalidationCount", invalidations.sum()); //회원 변경으로 직접 제거한 수
+        return result;
+    }
+    
+    //캐시에 보관하는 회원 정보의 불변 스냅샷 (영속성 컨텍스트와도 분리되어 있음)
+    private record CachedUser(Long id, String email, String emailNormalized, String password, String name, Role role,
+                              AuthProvider provider, String providerId, long tokenVersion,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        
+        static CachedUser from(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getEmailNormalized(), user.getPassword(), user.getName(),
+                    user.getRole(), user.getProvider(), user.getProviderId(), user.getTokenVersion(),
+                    user.getCreatedAt(), user.getUpdatedAt());
+        }
+        
+        User toUser() {
+            return new User(id, email, emailNormalized, password, name, role, provider, providerId, tokenVersion, createdAt, updatedAt);
+        }
+    }
 }
@@ -0,0 +1,318 @@
+package com.gyojincompany.home.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+//우리 서버가 발급한 HMAC(HS256 등) 토큰만을 위한 전용 검증기 -> jjwt의 범용 파싱 과정(Base64 배열 생성, 헤더/클레임 Map 생성)을 거치지 않음
+//-> Mac 인스턴스와 디코딩 버퍼를 작은 풀에서 빌려 재사용하고, 서명은 상수 시간으로 비교하며, payload에서 sub/iat/exp/ver만 꺼냄
+//-> 헤더가 우리가 발급한 형태와 다르거나 payload 구조가 예상과 다르면 null을 반환해서 jjwt 검증으로 넘김
+final class FastHmacTokenVerifier {
+
+    private static final byte[] BASE64URL_DECODE = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL_DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL_DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final byte[] KEY_SUB = {'s', 'u', 'b'};
+    private static final byte[] KEY_EXP = {'e', 'x', 'p'};
+    private static final byte[] KEY_IAT = {'i', 'a', 't'};
+    private static final byte[] KEY_NBF = {'n', 'b', 'f'};
+    private static final byte[] KEY_VER = {'v', 'e', 'r'};
+    private static final byte[] KEY_TYP = {'t', 'y', 'p'};
+
+    //동시에 검증 중인 요청 수만큼만 만들어지는 작업 공간
+    //-> ThreadLocal은 요청마다 새 가상 스레드가 생기는 환경에서는 매번 Mac을 새로 만들게 되므로 스레드가 아니라 풀에 보관
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 4;
+
+    private static final class Buffers {
+        final Mac mac;
+        final byte[] expectedSignature;
+        final byte[] presentedSignature;
+        byte[] signingInput = new byte[512];
+        byte[] payload = new byte[512];
+
+        Buffers(Mac mac) {
+            this.mac = mac;
+            this.expectedSignature = new byte[mac.getMacLength()];
+            this.presentedSignature = new byte[mac.getMacLength() + 3];
+        }
+    }
+
+    private final String headerSegment; //우리 서버가 발급하는 토큰의 헤더 부분 (예: {"alg":"HS256"}의 Base64URL)
+    private final SecretKey key;
+    private final ArrayBlockingQueue<Buffers> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    FastHmacTokenVerifier(SecretKey key, String headerSegment) {
+        this.key = key;
+        this.headerSegment = headerSegment;
+    }
+
+    private Buffers acquire() { //풀이 비어 있으면 새로 만들고, 반납 시 풀이 가득 차 있으면 버림
+        Buffers buf = pool.poll();
+        if (buf != null) {
+            return buf;
+        }
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return new Buffers(mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화 실패: " + key.getAlgorithm(), e);
+        }
+    }
+
+    //검증 성공 시 sub/iat/exp만 담긴 VerifiedToken 반환 (클레임 Map에는 ver 클레임만 있음)
+    //서명 불일치 -> SignatureException, 만료 -> ExpiredJwtException, 전용 형식이 아니면 -> null
+    VerifiedToken verify(String token) {
+        int headerLength = headerSegment.length();
+        if (token.length() <= headerLength || token.charAt(headerLength) != '.'
+                || !token.regionMatches(0, headerSegment, 0, headerLength)) {
+            return null;
+        }
+        int payloadStart = headerLength + 1;
+        int signatureDot = token.indexOf('.', payloadStart);
+        if (signatureDot < 0 || token.indexOf('.', signatureDot + 1) >= 0) {
+            return null;
+        }
+
+        Buffers buf = acquire();
+        try {
+            return verify(token, buf, payloadStart, signatureDot);
+        } finally {
+            buf.mac.reset(); //예외로 중간에 끝났어도 다음 사용자가 깨끗한 상태로 쓰도록
+            pool.offer(buf);
+        }
+    }
+
+    private VerifiedToken verify(String token, Buffers buf, int payloadStart, int signatureDot) {
+        //1) 서명 계산: "헤더.payload" 부분을 재사용 버퍼에 ASCII로 복사 후 HMAC
+        if (buf.signingInput.length < signatureDot) {
+            buf.signingInput = new byte[Math.max(signatureDot, buf.signingInput.length * 2)];
+        }
+        byte[] input = buf.signingInput;
+        for (int i = 0; i < signatureDot; i++) {
+            char c = token.charAt(i);
+            if (c > 127) {
+                return null;
+            }
+            input[i] = (byte) c;
+        }
+        buf.mac.update(input, 0, signatureDot);
+        try {
+            buf.mac.doFinal(buf.expectedSignature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+
+        //2) 토큰에 붙어 있는 서명 디코딩 후 상수 시간 비교 (비교 시간으로 서명을 추측하는 타이밍 공격 방지)
+        int signatureLength = decode(token, signatureDot + 1, token.length(), buf.presentedSignature);
+        if (signatureLength < 0) {
+            return null;
+        }
+        int diff = signatureLength ^ buf.expectedSignature.length;
+        for (int i = 0; i < buf.expectedSignature.length; i++) {
+            diff |= buf.expectedSignature[i] ^ buf.presentedSignature[i];
+        }
+        if (diff != 0) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        //3) payload 디코딩 후 sub/iat/exp/ver만 꺼내기
+        int payloadCapacity = (signatureDot - payloadStart) * 3 / 4 + 3;
+        if (buf.payload.length < payloadCapacity) {
+            buf.payload = new byte[Math.max(payloadCapacity, buf.payload.length * 2)];
+        }
+        int payloadLength = decode(token, payloadStart, signatureDot, buf.payload);
+        if (payloadLength < 0) {
+            return null;
+        }
+        return readClaims(buf.payload, payloadLength);
+    }
+
+    //Base64URL(패딩 없음) 문자열의 [from, to) 구간을 out 배열에 디코딩 -> 디코딩된 길이 반환, 잘못된 문자가 있거나 공간이 부족하면 -1
+    private static int decode(String s, int from, int to, byte[] out) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int outLength = length / 4 * 3 + (length % 4 == 0 ? 0 : length % 4 - 1);
+        if (outLength > out.length) {
+            return -1;
+        }
+        int o = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            int v = c < 128 ? BASE64URL_DECODE[c] : -1;
+            if (v < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | v;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[o++] = (byte) (bits >> bitCount);
+            }
+        }
+        return o;
+    }
+
+    //평평한(중첩 없는) JSON 객체에서 필요한 값만 꺼냄 -> Map을 만들지 않음. 예상 밖 구조면 null (jjwt로 처리)
+    private static VerifiedToken readClaims(byte[] json, int length) {
+        String subject = null;
+        long exp = -1;
+        long iat = 0;
+        long ver = -1;
+        int next = skipWhitespace(json, 0, length);
+        if (next >= length || json[next] != '{') {
+            return null;
+        }
+        next++;
+        while (true) {
+            int p = skipWhitespace(json, next, length);
+            if (p >= length) {
+                return null;
+            }
+            if (json[p] == '}') {
+                break;
+            }
+            if (json[p] != '"') {
+                return null;
+            }
+            int keyStart = p + 1;
+            int keyEnd = keyStart;
+            while (keyEnd < length && json[keyEnd] != '"') {
+                if (json[keyEnd] == '\\') {
+                    return null;
+                }
+                keyEnd++;
+            }
+            p = skipWhitespace(json, keyEnd + 1, length);
+            if (p >= length || json[p] != ':') {
+                return null;
+            }
+            p = skipWhitespace(json, p + 1, length);
+            if (p >= length) {
+                return null;
+            }
+
+            if (matches(json, keyStart, keyEnd, KEY_NBF)) {
+                return null; //nbf 검사는 jjwt에 맡김
+            } else if (matches(json, keyStart, keyEnd, KEY_TYP)) {
+                return null; //typ가 있는 토큰(리프레시 토큰)은 jjwt로 검증해서 typ 클레임을 그대로 전달 -> JWT 필터가 거부
+            } else if (matches(json, keyStart, keyEnd, KEY_SUB)) {
+                if (json[p] != '"') {
+                    return null;
+                }
+                int end = p + 1;
+                while (end < length && json[end] != '"') {
+                    if (json[end] == '\\') {
+                        return null; //이스케이프된 subject는 jjwt에 맡김
+                    }
+                    end++;
+                }
+                if (end >= length) {
+                    return null;
+                }
+                subject = new String(json, p + 1, end - p - 1, StandardCharsets.UTF_8);
+                p = end + 1;
+            } else if (matches(json, keyStart, keyEnd, KEY_EXP) || matches(json, keyStart, keyEnd, KEY_IAT)
+                    || matches(json, keyStart, keyEnd, KEY_VER)) {
+                long value = 0;
+                int start = p;
+                while (p < length && json[p] >= '0' && json[p] <= '9') {
+                    value = value * 10 + (json[p] - '0');
+                    p++;
+                }
+                if (p == start || p - start > 18) {
+                    return null;
+                }
+                if (json[keyStart] == 'e') {
+                    exp = value;
+                } else if (json[keyStart] == 'i') {
+                    iat = value;
+                } else {
+                    ver = value;
+                }
+            } else {
+                p = skipValue(json, p, length);
+                if (p < 0) {
+                    return null;
+                }
+            }
+
+            p = skipWhitespace(json, p, length);
+            if (p >= length) {
+                return null;
+            }
+            if (json[p] == ',') {
+                next = p + 1;
+            } else if (json[p] == '}') {
+                break;
+            } else {
+                return null;
+            }
+        }
+
+        if (exp < 0) {
+            return null; //exp가 없는 토큰은 jjwt 규칙대로 처리
+        }
+        long expiresAt = exp * 1000;
+        if (expiresAt <= System.currentTimeMillis()) {
+            throw new ExpiredJwtException(null, null, "JWT expired");
+        }
+        return new VerifiedToken(subject, iat * 1000, expiresAt,
+                ver >= 0 ? Map.of(JwtUtil.CLAIM_TOKEN_VERSION, ver) : Map.of());
+    }
+
+    private static int skipValue(byte[] json, int p, int length) { //관심 없는 클레임 값 건너뛰기 (문자열, 숫자, true/false/null)
+        byte c = json[p];
+        if (c == '"') {
+            p++;
+            while (p < length && json[p] != '"') {
+                p += json[p] == '\\' ? 2 : 1;
+            }
+            return p < length ? p + 1 : -1;
+        }
+        if (c == '{' || c == '[') {
+            return -1; //중첩 구조는 jjwt에 맡김
+        }
+        while (p < length && json[p] != ',' && json[p] != '}' && json[p] != ' ') {
+            p++;
+        }
+        return p;
+    }
+
+    private static int skipWhitespace(byte[] json, int p, int length) {
+        while (p < length && (json[p] == ' ' || json[p] == '\t' || json[p] == '\n' || json[p] == '\r')) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean matches(byte[] json, int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (json[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +23,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // //모든
     
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochs;
+    private final AuthMetrics authMetrics;
+    
+    @Value("${jwt.stateless-principal:false}") //true면 토큰 클레임만으로 인증(DB 조회 없음), false면 기존처럼 매 요청 DB에서 회원 조회
+    private boolean statelessPrincipal;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -30,7 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // //모든
         
         final String authHeader = request.getHeader("Authorization"); //요청에서 Authorization 헤더 읽기
         final String jwt;
-        final String userEmail;
+        final VerifiedToken verifiedToken;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) { 
         	//Authorization 헤더가 없거나 Bearer로 시작하지 않으면 다음 필터로 넘김 -> JWT를 안 보낸 요청으로 판단하여 로그인 처리는 안하고 패스함
@@ -39,15 +45,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // //모든
         }
         
         jwt = authHeader.substring(7); //"Bearer "는 7글자이므로 "Bearer "를 제외한 실제 JWT 문자열만 가져오기
+        final long start = System.nanoTime();
+        AuthMetrics.Reason reason = AuthMetrics.Reason.NONE; //필터 전체 결과 (auth.jwt.authenticate)
         try {
-            userEmail = jwtUtil.extractUsername(jwt);
+            //서명 위조, 만료시간 경과 검사를 한 번의 파싱으로 끝냄
+            //-> DB 조회 모드는 email만 있으면 되므로 전용 HMAC 검증기(verifyTokenFast)를, Stateless 모드는 클레임 전체가 필요하므로 verifyToken을 사용
+            try {
+                verifiedToken = statelessPrincipal ? jwtUtil.verifyToken(jwt) : jwtUtil.verifyTokenFast(jwt);
+            } catch (RuntimeException e) {
+                authMetrics.record(AuthMetrics.Stage.JWT_VERIFY, AuthMetrics.reasonOf(e), start);
+                throw e;
+            }
+            authMetrics.record(AuthMetrics.Stage.JWT_VERIFY, AuthMetrics.Reason.NONE, start);
+            final String userEmail = verifiedToken.getSubject();
             
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) { 
+            if (JwtUtil.TOKEN_TYPE_REFRESH.equals(verifiedToken.getClaim(JwtUtil.CLAIM_TOKEN_TYPE, String.class))) {
+                reason = AuthMetrics.Reason.MALFORMED;
+                //리프레시 토큰은 /api/auth/refresh 전용 -> API 인증에 받아주면 로그아웃/재사용 감지로 폐기된 세션의 토큰도 만료(7일)까지 통과함
+            } else if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) { 
             	//이미 로그인 상태인지 확인 -> 이미 로그인 인증된 상태이면 다시 인증하지 않음
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-                //이 email을 가진 회원이 DB에 있는지 Spring Security가 인식할 수 있는 자료 타입인 UserDetails로 변환 후 조회
+                UserDetails userDetails = statelessPrincipal ? TokenPrincipal.from(verifiedToken) : null;
+                //Stateless 모드면 토큰 클레임만으로 사용자 정보를 복원 (클레임이 없는 예전 토큰이면 null -> 아래에서 DB 조회)
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(userEmail);
+                    //이 email을 가진 회원이 DB에 있는지 Spring Security가 인식할 수 있는 자료 타입인 UserDetails로 변환 후 조회
+                }
                 
-                if (jwtUtil.validateToken(jwt, userDetails)) { //JWT 유효성 검사 -> 서명 위조, 만료시간 경과, 이메일 일치 등 검사
+                if (!jwtUtil.validateToken(verifiedToken, userDetails)) { //이미 검증된 토큰으로 이메일 일치 여부만 확인 (다시 파싱하지 않음)
+                    reason = AuthMetrics.Reason.UNKNOWN_USER;
+                } else if (!isCurrentEpoch(verifiedToken, userDetails)) {
+                    reason = AuthMetrics.Reason.REVOKED; //삭제/권한 변경 이전에 발급된 토큰
+                } else {
                     UsernamePasswordAuthenticationToken authToken = 
                         new UsernamePasswordAuthenticationToken(
                             userDetails, 
@@ -67,12 +95,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // //모든
                 }
             }
         } catch (Exception e) {
+            reason = AuthMetrics.reasonOf(e);
             logger.error("Cannot set user authentication: {}", e);
         }
+        authMetrics.record(AuthMetrics.Stage.JWT_AUTHENTICATE, reason, start);
         
         filterChain.doFilter(request, response); //JWT 검사 끝 -> 다음 필터 또는 컨트롤러로 계속 진행
     }
     
+    //토큰의 ver 클레임이 회원의 현재 토큰 세대보다 오래되었으면(삭제/권한 변경 이전 발급) 인증하지 않음 -> ver 없는 예전 토큰은 세대 0으로 취급
+    private boolean isCurrentEpoch(VerifiedToken verifiedToken, UserDetails userDetails) {
+        if (!(userDetails instanceof AuthUser authUser) || authUser.getId() == null) {
+            return true;
+        }
+        Long tokenVersion = verifiedToken.getLongClaim(JwtUtil.CLAIM_TOKEN_VERSION);
+        return tokenEpochs.isCurrent(authUser.getId(), tokenVersion != null ? tokenVersion : 0);
+    }
+    
     /* JwtAuthenticationFilter 클래스의 전체 흐름 정리
     클라이언트가 API 요청할 때 "Authorization: Bearer (JWT)" 헤더를 보냄
     이 필터가 그 JWT를 꺼낸 후 토큰 안에 있는 email 꺼내서 토큰이 정상인지 확인하고
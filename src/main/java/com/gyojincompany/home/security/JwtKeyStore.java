@@ -0,0 +1,268 @@
+package com.gyojincompany.home.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+//비대칭키(ES256 / EdDSA) 서명 모드에서 사용하는 키 보관소
+//-> jwt.keys.dir 폴더의 PEM 파일을 읽어서 "서명용 개인키 1개 + 검증용 공개키 여러 개(kid별)"를 메모리에 올려둠
+//-> 파일이 바뀌면 재시작 없이 다시 읽어서 키를 교체함 (새 kid 추가 -> active-kid 변경 -> 이전 kid 삭제 순서로 무중단 교체 가능)
+//
+//파일 규칙: <kid>.pub.pem (X.509 공개키, 검증용) / <kid>.key.pem (PKCS#8 개인키, active-kid만 필요)
+//         active-kid (선택, 서명에 쓸 kid 한 줄 -> 있으면 jwt.keys.active-kid 설정보다 우선)
+public class JwtKeyStore {
+
+    private static final String PUBLIC_SUFFIX = ".pub.pem";
+    private static final String PRIVATE_SUFFIX = ".key.pem";
+    private static final String ACTIVE_KID_FILE = "active-kid";
+    private static final String[] KEY_ALGORITHMS = {"EC", "Ed25519", "Ed448"};
+
+    //한 번에 교체되는 키 묶음 (불변) -> 읽는 쪽은 락 없이 snapshot 하나만 보면 됨
+    private record KeySet(String fingerprint, String activeKid, PrivateKey signingKey,
+                          Map<String, PublicKey> verificationKeys, String jwksJson, String jwksEtag) {}
+
+    private static final KeySet EMPTY = new KeySet("", null, null, Collections.emptyMap(), "{\"keys\":[]}", "\"empty\"");
+
+    @Value("${jwt.keys.dir:}") //PEM 파일 폴더 -> 비어 있으면 기존 HMAC(jwt.secret) 모드로 동작
+    private String keysDir;
+
+    @Value("${jwt.keys.active-kid:}") //새 토큰에 서명할 때 사용할 kid
+    private String activeKid;
+
+    @Value("${jwt.keys.accept-hmac:true}") //비대칭키 모드에서도 kid 없는 예전 HMAC 토큰을 받아줄지 (전환 기간용)
+    private boolean acceptHmac;
+
+    private volatile KeySet keySet = EMPTY;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock reloadLock = new ReentrantLock(); //파일 I/O 중 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않도록 synchronized 대신 사용
+
+    @PostConstruct
+    void init() {
+        if (isEnabled()) {
+            reload(); //시작 시 키를 못 읽으면 토큰을 발급할 수 없으므로 바로 실패시킴
+            if (keySet.signingKey() == null) {
+                throw new IllegalStateException("active-kid의 개인키를 찾을 수 없습니다: " + keysDir);
+            }
+        }
+    }
+
+    public boolean isEnabled() { //비대칭키 모드인지 여부
+        return keysDir != null && !keysDir.isBlank();
+    }
+
+    public boolean acceptsHmac() {
+        return !isEnabled() || acceptHmac;
+    }
+
+    public record ActiveKey(String kid, PrivateKey privateKey) {} //kid와 개인키는 항상 같은 snapshot에서 함께 꺼내야 함
+
+    public ActiveKey getActiveKey() { //새 토큰 서명에 쓸 kid + 개인키
+        KeySet current = keySet;
+        return new ActiveKey(current.activeKid(), current.signingKey());
+    }
+
+    public PublicKey getVerificationKey(String kid) { //토큰 헤더의 kid로 검증용 공개키 찾기 (없으면 null)
+        return keySet.verificationKeys().get(kid);
+    }
+
+    public String getJwksJson() {
+        return keySet.jwksJson();
+    }
+
+    public String getJwksEtag() {
+        return keySet.jwksEtag();
+    }
+
+    public void addReloadListener(Runnable listener) { //키가 교체되었을 때 알림 받을 곳 등록 (예: 검증 캐시 비우기)
+        reloadListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:30000}") //주기적으로 폴더를 확인해서 바뀐 파일이 있으면 다시 읽음
+    public void reloadIfChanged() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            if (!fingerprint().equals(keySet.fingerprint())) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("JWT 키 다시 읽기 실패 - 기존 키를 계속 사용합니다: {}", e.getMessage());
+        }
+    }
+
+    private void reload() {
+        reloadLock.lock();
+        try {
+            Path dir = Paths.get(keysDir);
+            String fingerprint = fingerprint();
+            Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.sorted().toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(PUBLIC_SUFFIX)) {
+                        String kid = name.substring(0, name.length() - PUBLIC_SUFFIX.length());
+                        publicKeys.put(kid, readPublicKey(file));
+                    }
+                }
+            }
+
+            String kid = resolveActiveKid(dir);
+            PrivateKey signingKey = null;
+            Path privateFile = dir.resolve(kid + PRIVATE_SUFFIX);
+            if (!kid.isBlank() && Files.exists(privateFile)) {
+                if (!publicKeys.containsKey(kid)) { //자기가 발급한 토큰을 검증할 수 없게 되는 설정 실수 방지
+                    throw new IllegalStateException("active-kid의 공개키 파일이 없습니다: " + kid + PUBLIC_SUFFIX);
+                }
+                signingKey = readPrivateKey(privateFile);
+            } else if (keySet.signingKey() != null) { //실행 중 교체할 때 서명키가 없어지면 토큰을 발급할 수 없으므로 교체하지 않음
+                throw new IllegalStateException("active-kid의 개인키 파일이 없습니다: " + kid + PRIVATE_SUFFIX);
+            }
+
+            String jwksJson = toJwks(publicKeys);
+            String etag = "\"" + HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(jwksJson.getBytes(StandardCharsets.UTF_8)), 0, 16) + "\"";
+            keySet = new KeySet(fingerprint, signingKey != null ? kid : null, signingKey,
+                    Collections.unmodifiableMap(publicKeys), jwksJson, etag);
+            log.info("JWT 키 로드 완료 - active kid: {}, 검증 kid: {}", keySet.activeKid(), publicKeys.keySet());
+            reloadListeners.forEach(Runnable::run);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 키를 읽을 수 없습니다: " + keysDir, e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private String resolveActiveKid(Path dir) throws IOException { //폴더에 active-kid 파일이 있으면 그 값이 설정값보다 우선 (재시작 없이 서명키 교체)
+        Path file = dir.resolve(ACTIVE_KID_FILE);
+        return Files.exists(file) ? Files.readString(file).trim() : activeKid;
+    }
+    
+    private String fingerprint() throws IOException { //파일 이름 + 수정시간 + 크기로 폴더 상태 요약 -> 바뀌었을 때만 다시 읽음
+        List<String> parts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(Paths.get(keysDir))) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pem") || name.equals(ACTIVE_KID_FILE)) {
+                    parts.add(file.getFileName() + ":" + Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file));
+                }
+            }
+        }
+        return String.join("|", parts) + "|active=" + activeKid;
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        StringBuilder base64 = new StringBuilder();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.startsWith("-----")) {
+                base64.append(line.trim());
+            }
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    private static PublicKey readPublicKey(Path file) throws IOException, GeneralSecurityException {
+        byte[] der = readPem(file);
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(der));
+            } catch (GeneralSecurityException ignored) {
+                //다음 알고리즘으로 시도
+            }
+        }
+        throw new GeneralSecurityException("지원하지 않는 공개키 형식입니다: " + file);
+    }
+
+    private static PrivateKey readPrivateKey(Path file) throws IOException, GeneralSecurityException {
+        byte[] der = readPem(file);
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+            } catch (GeneralSecurityException ignored) {
+                //다음 알고리즘으로 시도
+            }
+        }
+        throw new GeneralSecurityException("지원하지 않는 개인키 형식입니다: " + file);
+    }
+
+    //공개키들을 JWKS(JSON Web Key Set, RFC 7517) 문자열로 변환 -> 다른 서버가 이 값을 받아 토큰을 직접 검증함
+    private static String toJwks(Map<String, PublicKey> keys) {
+        List<String> jwks = new ArrayList<>();
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        for (Map.Entry<String, PublicKey> entry : keys.entrySet()) {
+            PublicKey key = entry.getValue();
+            String kid = entry.getKey().replace("\\", "\\\\").replace("\"", "\\\"");
+            if (key instanceof ECPublicKey ec) {
+                int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+                int length = (fieldSize + 7) / 8;
+                String crv = switch (fieldSize) {
+                    case 256 -> "P-256";
+                    case 384 -> "P-384";
+                    case 521 -> "P-521";
+                    default -> throw new IllegalStateException("지원하지 않는 EC 곡선: " + fieldSize);
+                };
+                String alg = switch (fieldSize) {
+                    case 256 -> "ES256";
+                    case 384 -> "ES384";
+                    default -> "ES512";
+                };
+                jwks.add("{\"kty\":\"EC\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"alg\":\"" + alg + "\",\"crv\":\"" + crv
+                        + "\",\"x\":\"" + b64.encodeToString(unsigned(ec.getW().getAffineX(), length))
+                        + "\",\"y\":\"" + b64.encodeToString(unsigned(ec.getW().getAffineY(), length)) + "\"}");
+            } else if (key instanceof EdECPublicKey ed) {
+                //Ed25519/Ed448 공개키의 X.509 인코딩은 "고정 헤더 + 원본 키 바이트" 형태 -> 뒤쪽 원본 바이트가 JWK의 x 값
+                String crv = ed.getParams().getName();
+                int rawLength = crv.equals("Ed448") ? 57 : 32;
+                byte[] encoded = key.getEncoded();
+                byte[] raw = Arrays.copyOfRange(encoded, encoded.length - rawLength, encoded.length);
+                jwks.add("{\"kty\":\"OKP\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"alg\":\"EdDSA\",\"crv\":\""
+                        + crv + "\",\"x\":\"" + b64.encodeToString(raw) + "\"}");
+            } else {
+                throw new IllegalStateException("지원하지 않는 공개키 종류: " + key.getAlgorithm());
+            }
+        }
+        return "{\"keys\":[" + String.join(",", jwks) + "]}";
+    }
+
+    private static byte[] unsigned(BigInteger value, int length) { //좌표값을 부호 없는 고정 길이 바이트 배열로 변환
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] result = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+        return result;
+    }
+}
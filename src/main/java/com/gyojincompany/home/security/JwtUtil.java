@@ -2,21 +2,40 @@ package com.gyojincompany.home.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 //JWT 토큰 생성 + JWT 토큰 내 정보 읽기 + 토큰이 유효한지 검사	이 3가지 기능을 담당하는 유틸리티 클래스
 public class JwtUtil { //JwtUtil 클래스는 JWT를 만들고, 읽고, 검증하는 도구 상자라 생각하면 쉬움
     
+    //Stateless 모드에서 DB 조회 없이 사용자 정보를 복원하기 위해 Access Token에 넣는 클레임 이름들
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_PROVIDER = "provider";
+    public static final String CLAIM_TOKEN_VERSION = "ver"; //발급 당시 회원의 토큰 세대 (TokenEpochRegistry에서 비교)
+    //리프레시 토큰 회전(rotation)용 클레임 -> 어느 로그인 세션(family)의 몇 번째 토큰인지
+    public static final String CLAIM_FAMILY = "fam";
+    public static final String CLAIM_GENERATION = "gen";
+    //토큰 용도 -> 리프레시 토큰에만 넣음 (Access Token과 같은 키로 서명하므로 /api/auth/refresh에서 Access Token을 구분해서 거부)
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+    
+    private final JwtKeyStore keyStore; //비대칭키(ES256/EdDSA) 모드에서 kid별 키를 보관 -> jwt.keys.dir이 없으면 HMAC 모드
+    
 	//application.properties 또는 application.yml 파일에 적혀 있는 값을 Java 변수에 자동으로 넣어주는 기능
 	//예) jwt.secret=mysupersecretlongkey1234
     @Value("${jwt.secret}") //JWT를 만들 때 서명 시 사용하는 비밀 문자열
@@ -28,10 +47,84 @@ public class JwtUtil { //JwtUtil 클래스는 JWT를 만들고, 읽고, 검증
     @Value("${jwt.refresh-expiration}") //Refresh Token의 유효기간(ms) -> Access Token보다 훨씬 길게 설정됨.
     private Long refreshExpiration;
     
-    private SecretKey getSigningKey() { //JWT 서명(Signature)용 키 가져오기 -> JWT에 서명할 도장 생성
-    	//jwt.secret 값을 기반으로 서명에 사용할 key 생성 -> 이 키로 JWT를 “만듦” -> 이 키로 JWT가 “변조되지 않았는지 확인함”
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        //애플리케이션의 설정 파일 등에서 가져온 비밀 문자열(secret)을 암호화 알고리즘이 처리할 수 있는 바이트 배열로 변환합니다.
+    @Value("${jwt.verified-token-cache.enabled:false}") //한 번 검증한 토큰 결과를 보관해서 같은 토큰의 재검증을 생략할지 여부
+    private boolean verifiedTokenCacheEnabled;
+    
+    @Value("${jwt.verified-token-cache.max-size:100000}") //보관할 최대 토큰 수
+    private long verifiedTokenCacheMaxSize;
+    
+    @Value("${jwt.verified-token-cache.max-ttl-ms:3600000}") //토큰 exp와 별개로 한 항목을 최대 얼마나 보관할지(ms)
+    private long verifiedTokenCacheMaxTtl;
+    
+    private VerifiedTokenCache verifiedTokenCache; //비활성화 상태면 null
+    
+    @Value("${jwt.fast-path.enabled:true}") //우리 서버가 발급한 HMAC 토큰은 jjwt 대신 전용 검증기로 검증할지 여부
+    private boolean fastPathEnabled;
+    
+    //서명키 + 파서 묶음 -> 요청마다 새로 만들지 않고 한 번 만들어 재사용 (JwtParser는 불변 객체라 여러 스레드에서 동시에 써도 안전함)
+    private record KeyMaterial(String secret, SecretKey signingKey, JwtParser parser, FastHmacTokenVerifier fastVerifier) {}
+    
+    private volatile KeyMaterial keyMaterial; //키 설정이 바뀌면 통째로 교체되므로 volatile로 선언
+    
+    @PostConstruct
+    void init() { //애플리케이션 시작 시 jwt.secret으로 서명키와 파서를 한 번만 생성
+        if (verifiedTokenCacheEnabled) {
+            verifiedTokenCache = new VerifiedTokenCache(verifiedTokenCacheMaxSize, verifiedTokenCacheMaxTtl);
+            keyStore.addReloadListener(verifiedTokenCache::invalidateAll); //검증키가 바뀌면(kid 삭제 등) 캐시된 결과도 버림
+        }
+        updateSecret(secret);
+    }
+    
+    public synchronized void updateSecret(String newSecret) { //키 설정이 바뀌었을 때만 서명키와 파서를 다시 만듦
+        KeyMaterial current = keyMaterial;
+        if (current != null && current.secret().equals(newSecret)) {
+            return; //같은 secret이면 다시 만들 필요 없음
+        }
+        //jwt.secret 값을 기반으로 서명에 사용할 key 생성 -> 이 키로 JWT를 “만듦” -> 이 키로 JWT가 “변조되지 않았는지 확인함”
+        SecretKey key = Keys.hmacShaKeyFor(newSecret.getBytes(StandardCharsets.UTF_8));
+        JwtParser parser = keyStore.isEnabled()
+                ? Jwts.parser().keyLocator(new KidKeyLocator(key)).build() //비대칭키 모드: 헤더의 kid로 검증키를 그때그때 찾음 -> 키 교체 시 파서를 다시 만들 필요 없음
+                : Jwts.parser() //JWT 구문 분석 및 검증 작업을 시작하기 위한 JwtParser 빌더 객체 생성
+                        .verifyWith(key) //JWT를 secret key로 검증
+                        .build(); //검증키를 바탕으로 실제로 분석할 JwtParser 객체 생성
+        //우리 서버가 발급하는 토큰의 헤더 부분을 그대로 얻어서 전용 검증기가 "우리 형식의 토큰"인지 문자열 비교만으로 판단하게 함
+        String probe = Jwts.builder().subject("probe").signWith(key).compact();
+        FastHmacTokenVerifier fastVerifier = new FastHmacTokenVerifier(key, probe.substring(0, probe.indexOf('.')));
+        this.secret = newSecret;
+        this.keyMaterial = new KeyMaterial(newSecret, key, parser, fastVerifier);
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.invalidateAll(); //이전 키로 검증된 결과는 더 이상 믿을 수 없으므로 모두 제거
+        }
+    }
+    
+    private SecretKey getSigningKey() { //JWT 서명(Signature)용 키 가져오기 -> 미리 만들어 둔 키 재사용
+        return keyMaterial.signingKey();
+    }
+    
+    //토큰 헤더의 kid로 검증키를 찾는 jjwt Locator -> kid가 없으면 예전 HMAC 토큰으로 보고 secret 키 사용 (accept-hmac일 때만)
+    //알고리즘과 키 종류가 맞지 않으면(예: HS256 헤더 + 공개키) jjwt가 거부하므로 알고리즘 혼동 공격도 막힘
+    private class KidKeyLocator extends LocatorAdapter<Key> {
+        private final SecretKey hmacKey;
+        
+        KidKeyLocator(SecretKey hmacKey) {
+            this.hmacKey = hmacKey;
+        }
+        
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (keyStore.acceptsHmac()) {
+                    return hmacKey;
+                }
+                throw new UnsupportedJwtException("kid가 없는 토큰은 허용되지 않습니다.");
+            }
+            Key key = keyStore.getVerificationKey(kid);
+            if (key == null) {
+                throw new UnsupportedJwtException("알 수 없는 kid 입니다: " + kid);
+            }
+            return key;
+        }
     }
     
     public String extractUsername(String token) { //토큰 안에서 email(=username) 추출
@@ -55,14 +148,47 @@ public class JwtUtil { //JwtUtil 클래스는 JWT를 만들고, 읽고, 검증
     }
     
     private Claims extractAllClaims(String token) { //JWT 전체 Claims 파싱(검증 포함)
-        return Jwts.parser() //JWT 구문 분석 및 검증 작업을 시작하기 위한 JwtParser 빌더 객체 생성
-                .verifyWith(getSigningKey()) //JWT를 secret key로 검증
-                .build() //검증키를 바탕으로 실제로 분석할 JwtParser 객체 생성
+        return keyMaterial.parser() //시작 시 만들어 둔 JwtParser 재사용
                 .parseSignedClaims(token) //실제로 토큰의 유효성 검사 및 토큰 파싱
                 .getPayload(); //유효성이 검증된 토큰에서 Payload 부분 즉 Claims 객체를 최종적으로 추출하여 반환
     	//JWT를 secret key로 검증하고, 내부 Payload(Claims)를 꺼냄 -> “토큰이 변조되지 않았는지 먼저 검사하고 그 후에 토큰 안의 내용을 꺼내기”
     }
     
+    public VerifiedToken verifyToken(String token) { //토큰을 단 한 번만 파싱/서명검증해서 필요한 정보를 모두 담은 객체로 반환
+    	//서명이 위조되었거나 만료된 토큰이면 JwtException(ExpiredJwtException 등)이 발생함
+        VerifiedTokenCache cache = verifiedTokenCache;
+        if (cache != null) {
+            return cache.get(token, this::parseAndVerify); //같은 토큰을 이미 검증했다면 HMAC 계산과 JSON 파싱 생략
+        }
+        return parseAndVerify(token);
+    }
+    
+    public VerifiedToken verifyTokenFast(String token) { //subject와 만료시간만 필요할 때 사용하는 가벼운 검증 (커스텀 클레임은 비어 있을 수 있음)
+    	//우리 서버가 발급한 HMAC 토큰이면 전용 검증기로 거의 메모리 할당 없이 검증하고, 그 외 형식이면 jjwt로 검증
+        if (fastPathEnabled && keyStore.acceptsHmac()) {
+            VerifiedToken verified = keyMaterial.fastVerifier().verify(token);
+            if (verified != null) {
+                return verified;
+            }
+        }
+        return verifyToken(token);
+    }
+    
+    private VerifiedToken parseAndVerify(String token) {
+        Claims claims = extractAllClaims(token);
+        Date issuedAt = claims.getIssuedAt();
+        return new VerifiedToken(
+                claims.getSubject(),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                claims.getExpiration().getTime(),
+                Map.copyOf(claims)); //캐시에 오래 보관될 수 있으므로 작은 불변 Map으로 복사
+    }
+    
+    public Map<String, Object> getVerifiedTokenCacheStats() { //관리자 화면에서 확인할 토큰 검증 캐시 통계
+        VerifiedTokenCache cache = verifiedTokenCache;
+        return cache != null ? cache.getStats() : Map.of("enabled", false);
+    }
+    
     private Boolean isTokenExpired(String token) { //토큰 만료시간이 지나면 true, 아니면 false를 반환
         return extractExpiration(token).before(new Date());
     }
@@ -70,31 +196,56 @@ public class JwtUtil { //JwtUtil 클래스는 JWT를 만들고, 읽고, 검증
     public String generateToken(UserDetails userDetails) { 
     	//Spring Security의 UserDetails 객체를 인자로 받아 새로운 Access Token을 String 형태로 반환
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AuthUser authUser) { //회원 id, 권한, 이름을 토큰에 넣어두면 Stateless 모드에서 DB 조회 없이 인증 가능
+            claims.put(CLAIM_USER_ID, authUser.getId());
+            claims.put(CLAIM_ROLE, authUser.getRole().name());
+            claims.put(CLAIM_NAME, authUser.getName());
+            if (authUser.getProvider() != null) {
+                claims.put(CLAIM_PROVIDER, authUser.getProvider().name());
+            }
+            claims.put(CLAIM_TOKEN_VERSION, authUser.getTokenVersion());
+        }
         return createToken(claims, userDetails.getUsername(), expiration);
     }
     
-    public String generateRefreshToken(UserDetails userDetails) {
+    public String generateRefreshToken(UserDetails userDetails, String familyId, long generation) {
     	//Access Token이 만료되었을 때 새로운 Access Token을 발급받기 위해 사용되는 Refresh Token을 생성하여 String 형태로 반환
+    	//family/generation은 RefreshTokenService가 관리 -> 한 번 쓴 리프레시 토큰은 다시 쓸 수 없음
         Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        claims.put(CLAIM_FAMILY, familyId);
+        claims.put(CLAIM_GENERATION, generation);
         return createToken(claims, userDetails.getUsername(), refreshExpiration);
-        //로그인할 때 액세스 토큰 + 리프레시 토큰을 동시에 발급하고, 액세스 토큰이 만료되었을 때 “이미 가지고 있던 리프레시 토큰”으로 새 토큰을 발급
+        //로그인할 때 액세스 토큰 + 리프레시 토큰을 동시에 발급하고, 액세스 토큰이 만료되었을 때 리프레시 토큰으로 새 액세스 토큰 + 새 리프레시 토큰을 발급
     }
     
     private String createToken(Map<String, Object> claims, String subject, Long expirationTime) { //토큰 생성 함수
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (keyStore.isEnabled()) { //비대칭키 모드: 헤더에 kid를 넣고 개인키로 서명 (다른 서버는 JWKS의 공개키로 직접 검증 가능)
+            JwtKeyStore.ActiveKey activeKey = keyStore.getActiveKey();
+            builder.header().keyId(activeKey.kid()).and()
+                    .signWith(activeKey.privateKey()); //EC P-256 키면 ES256, Ed25519 키면 EdDSA로 서명
+        } else {
+            builder.signWith(getSigningKey()); //secret key로 만든 서명 넣기
+        }
+        return builder
                 .claims(claims) //추가 데이터 넣기
                 .subject(subject) //email(username) 넣기
                 .issuedAt(new Date(System.currentTimeMillis())) //생성시간 넣기
                 .expiration(new Date(System.currentTimeMillis() + expirationTime)) //만료시간 넣기
-                .signWith(getSigningKey()) //secret key로 만든 서명 넣기
                 .compact(); //압축해서 문자열 형태의 JWT 만들기
         
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) { //토큰 검증
-        final String username = extractUsername(token);
+        return validateToken(verifyToken(token), userDetails);
+    }
+    
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) { //이미 검증된 토큰으로 다시 파싱하지 않고 검증
         //검증 기준: 토큰 안 email 과 DB의 email이 같고, 토큰이 만료되지 않았으면 → 유효한 토큰으로 간주
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return token.getSubject() != null
+                && token.getSubject().equals(userDetails.getUsername())
+                && !token.isExpired(System.currentTimeMillis());
     }
     
     
@@ -0,0 +1,183 @@
+package com.gyojincompany.home.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+//로그인 시도 횟수 제한 (이메일별 + 클라이언트 IP별 토큰 버킷)
+//-> 비밀번호 대입 공격이 와도 BCrypt 비교, findByEmailNormalized 조회 전에 메모리에서만 확인하고 거절 (락 없이 CAS 한 번)
+//-> 버킷은 Caffeine에 보관해서 개수 상한 + 일정 시간 쓰이지 않은 키는 자동 제거 (메모리 사용량 제한)
+public class LoginThrottle implements MeterBinder {
+
+    private static final int MAX_LOCKOUTS_LISTED = 100; //관리자 화면에 보여줄 최대 잠금 수
+
+    //토큰 버킷을 "다음 시도가 가능해지는 이론상 시각(tat)" 하나로 표현 (GCRA)
+    //-> tat - now 가 burst 구간 이내면 허용하고 tat를 period만큼 뒤로 미룸, 넘으면 거절 -> 상태가 long 하나라 AtomicLong CAS로 처리
+    private static final class Bucket {
+        final AtomicLong tat = new AtomicLong();
+    }
+
+    //이메일/IP 각각의 제한 정책 + 버킷 보관소
+    private static final class Limiter {
+        final long periodMillis; //토큰 1개가 다시 채워지는 시간
+        final long burstMillis; //(capacity - 1) * period -> 연속으로 capacity번까지 허용
+        final Cache<String, Bucket> buckets;
+        final LongAdder rejected = new LongAdder();
+
+        Limiter(int capacity, long periodMillis, long maxKeys) {
+            this.periodMillis = periodMillis;
+            this.burstMillis = (capacity - 1) * periodMillis;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofMillis(capacity * periodMillis)) //이 시간 동안 안 쓰였으면 버킷이 가득 찬 상태와 같으므로 제거
+                    .build();
+        }
+
+        long tryAcquire(String key, long now) { //허용이면 0, 거절이면 다시 시도 가능할 때까지 남은 ms
+            Bucket bucket = buckets.get(key, k -> new Bucket());
+            while (true) {
+                long tat = bucket.tat.get();
+                long base = Math.max(tat, now);
+                long wait = base - now - burstMillis;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (bucket.tat.compareAndSet(tat, base + periodMillis)) {
+                    return 0;
+                }
+            }
+        }
+
+        long lockedForMillis(Bucket bucket, long now) {
+            return Math.max(0, bucket.tat.get() - now - burstMillis);
+        }
+    }
+
+    @Value("${auth.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login-throttle.email.capacity:5}") //이메일 하나당 연속 시도 가능 횟수
+    private int emailCapacity;
+
+    @Value("${auth.login-throttle.email.refill-period-ms:60000}") //이메일 하나당 시도 1번이 다시 생기는 시간
+    private long emailRefillPeriodMillis;
+
+    @Value("${auth.login-throttle.ip.capacity:20}") //IP 하나당 연속 시도 가능 횟수 (회사/학교처럼 여러 명이 같은 IP일 수 있어 넉넉하게)
+    private int ipCapacity;
+
+    @Value("${auth.login-throttle.ip.refill-period-ms:3000}")
+    private long ipRefillPeriodMillis;
+
+    @Value("${auth.login-throttle.max-keys:100000}") //이메일/IP 각각 최대 몇 개까지 버킷을 보관할지
+    private long maxKeys;
+
+    private Limiter byEmail;
+    private Limiter byIp;
+
+    @PostConstruct
+    void init() {
+        byEmail = new Limiter(emailCapacity, emailRefillPeriodMillis, maxKeys);
+        byIp = new Limiter(ipCapacity, ipRefillPeriodMillis, maxKeys);
+    }
+
+    //로그인 시도 전에 호출 -> 한도를 넘었으면 TooManyRequestsException (429 + Retry-After)
+    public void acquire(String email, String clientIp) {
+        acquire(email, clientIp, System.currentTimeMillis());
+    }
+
+    void acquire(String email, String clientIp, long now) { //now를 받는 버전 -> 테스트에서 시간을 직접 넘겨 충전/잠금 확인
+        if (!enabled) {
+            return;
+        }
+        long wait = clientIp != null ? byIp.tryAcquire(clientIp, now) : 0;
+        if (wait == 0 && email != null) {
+            wait = byEmail.tryAcquire(normalize(email), now);
+        }
+        if (wait > 0) {
+            throw new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.",
+                    TimeUnit.MILLISECONDS.toSeconds(wait + 999));
+        }
+    }
+
+    public void onSuccess(String email) { //로그인 성공 -> 해당 이메일의 실패 누적 초기화 (IP 제한은 유지)
+        if (enabled && email != null) {
+            byEmail.buckets.invalidate(normalize(email));
+        }
+    }
+
+    public boolean unlock(String email, String clientIp) { //관리자가 잠금 해제 -> 제거된 버킷이 있으면 true
+        boolean removed = false;
+        if (email != null) {
+            removed |= byEmail.buckets.asMap().remove(normalize(email)) != null;
+        }
+        if (clientIp != null) {
+            removed |= byIp.buckets.asMap().remove(clientIp) != null;
+        }
+        return removed;
+    }
+
+    public Map<String, Object> getStatus() { //관리자 화면에서 확인할 잠금 현황 (남은 시간이 긴 순서로 최대 100개)
+        long now = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("trackedEmails", byEmail.buckets.estimatedSize());
+        result.put("trackedIps", byIp.buckets.estimatedSize());
+        result.put("rejectedByEmail", byEmail.rejected.sum());
+        result.put("rejectedByIp", byIp.rejected.sum());
+        result.put("lockedEmails", lockouts(byEmail, now));
+        result.put("lockedIps", lockouts(byIp, now));
+        return result;
+    }
+
+    @Override //거절 수, 추적 중인 키 수를 /actuator/prometheus로 노출 (key 태그는 email/ip 두 값뿐)
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.login_throttle.rejected", this, t -> t.byEmail.rejected.sum())
+                .tag("key", "email").register(registry);
+        FunctionCounter.builder("auth.login_throttle.rejected", this, t -> t.byIp.rejected.sum())
+                .tag("key", "ip").register(registry);
+        Gauge.builder("auth.login_throttle.tracked", this, t -> t.byEmail.buckets.estimatedSize())
+                .tag("key", "email").register(registry);
+        Gauge.builder("auth.login_throttle.tracked", this, t -> t.byIp.buckets.estimatedSize())
+                .tag("key", "ip").register(registry);
+    }
+
+    private static List<Map<String, Object>> lockouts(Limiter limiter, long now) {
+        List<Map<String, Object>> locked = new ArrayList<>();
+        limiter.buckets.asMap().forEach((key, bucket) -> {
+            long remaining = limiter.lockedForMillis(bucket, now);
+            if (remaining > 0) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("key", key);
+                entry.put("retryAfterSeconds", TimeUnit.MILLISECONDS.toSeconds(remaining + 999));
+                locked.add(entry);
+            }
+        });
+        locked.sort(Comparator.comparingLong((Map<String, Object> entry) -> (Long) entry.get("retryAfterSeconds")).reversed());
+        return locked.size() > MAX_LOCKOUTS_LISTED ? locked.subList(0, MAX_LOCKOUTS_LISTED) : locked;
+    }
+
+    private static String normalize(String email) { //대소문자/앞뒤 공백만 다른 이메일은 같은 계정으로 취급 (DB의 email_normalized와 같은 규칙)
+        return User.normalizeEmail(email);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gyojincompany.home.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+//일반 로그인 성공 후, 저장된 비밀번호 해시가 지금 설정(prefix, BCrypt 비용)과 다르면 새 해시로 바꿔 저장하는 인증 처리기
+//-> DaoAuthenticationProvider 기본 동작은 로그인 응답 전에 다시 해시(수십 ms)하므로, 여기서는 로그인 응답은 바로 보내고 다시 해시/저장은 백그라운드에서 실행
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final UserDetailsPasswordService passwordService;
+    private final AuthMetrics authMetrics;
+    private final ExecutorService rehashExecutor = Executors.newVirtualThreadPerTaskExecutor(); //실제 해시는 BoundedPasswordEncoder 풀에서 실행되므로 여기서는 기다리기만 함
+
+    public RehashingAuthenticationProvider(UserDetailsPasswordService passwordService, AuthMetrics authMetrics) {
+        this.passwordService = passwordService;
+        this.authMetrics = authMetrics;
+    }
+
+    @Override //저장된 해시와 입력한 비밀번호 비교 (BCrypt) -> auth.password.match 로 소요 시간/결과 기록
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) {
+        long start = System.nanoTime();
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            authMetrics.record(AuthMetrics.Stage.PASSWORD_MATCH, AuthMetrics.Reason.NONE, start);
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.PASSWORD_MATCH, AuthMetrics.reasonOf(e), start);
+            throw e;
+        }
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        Object credentials = authentication.getCredentials();
+        if (credentials != null && getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+            String presentedPassword = credentials.toString(); //인증이 끝나면 credentials가 지워지므로 미리 복사
+            rehashExecutor.execute(() -> {
+                try {
+                    passwordService.updatePassword(user, getPasswordEncoder().encode(presentedPassword));
+                } catch (RuntimeException e) { //대기열이 가득 찼거나 DB 오류 -> 다음 로그인 때 다시 시도
+                    log.debug("비밀번호 다시 해시 실패 ({}): {}", user.getUsername(), e.getMessage());
+                }
+            });
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+
+    public void shutdown() { //애플리케이션 종료 시 진행 중인 저장 작업 정리
+        rehashExecutor.shutdown();
+    }
+}
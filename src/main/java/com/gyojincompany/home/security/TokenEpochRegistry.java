@@ -0,0 +1,146 @@
+package com.gyojincompany.home.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.gyojincompany.home.entity.DeletedUser;
+import com.gyojincompany.home.repository.DeletedUserRepository;
+import com.gyojincompany.home.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+//회원별 토큰 세대(tokenVersion)를 메모리에 들고 있다가, 토큰의 ver 클레임이 더 오래된 것이면 즉시 거부하게 해주는 클래스
+//-> 회원 삭제/권한 변경 시 세대를 올리면 그 이전에 발급된 Access Token은 만료 전이라도 바로 쓸 수 없게 됨
+//-> 대부분의 회원은 세대가 0이므로 0이 아닌 회원만 보관하고, 조회는 long 키 배열 한 번 탐색(락/박싱 없음)으로 끝남
+public class TokenEpochRegistry {
+
+    private static final long DELETED = Long.MAX_VALUE; //삭제된 회원 -> 어떤 토큰도 통과 못함
+
+    //읽기 전용 open addressing 테이블 (키 0 = 빈 칸, 회원 id는 1부터 시작) -> 변경 시 통째로 새로 만들어 교체
+    private static final class Table {
+        final long[] keys;
+        final long[] values;
+        final int mask;
+
+        Table(Map<Long, Long> entries) {
+            int capacity = Integer.highestOneBit(Math.max(entries.size() * 2, 8) - 1) << 1; //절반 이하로 채워지도록
+            keys = new long[capacity];
+            values = new long[capacity];
+            mask = capacity - 1;
+            entries.forEach((key, value) -> {
+                int i = index(key, mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = value;
+            });
+        }
+
+        long get(long key) {
+            int i = index(key, mask);
+            while (true) {
+                long k = keys[i];
+                if (k == key) {
+                    return values[i];
+                }
+                if (k == 0) {
+                    return 0; //없으면 세대 0
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private static int index(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final DeletedUserRepository deletedUserRepository;
+
+    private final Map<Long, Long> epochs = new HashMap<>(); //쓰기용 원본 (synchronized 안에서만 접근)
+    private final Map<Long, Long> deletedAt = new HashMap<>(); //이 서버에서 삭제 처리한 회원 -> 삭제 시각 (deleted_users를 다시 읽기 전까지 유지)
+
+    @Value("${jwt.expiration}") //삭제된 회원 표시는 Access Token 유효기간이 지나면 더 필요 없으므로 정리
+    private long accessTokenExpiration;
+    private volatile Table table = new Table(Map.of());
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.token-epoch.refresh-interval-ms:30000}", initialDelayString = "${jwt.token-epoch.refresh-interval-ms:30000}")
+    //시작 시 + 주기적으로 DB의 tokenVersion > 0 인 회원만 읽어서 다시 맞춤 (다른 서버에서 올린 세대 반영)
+    public void reload() {
+        Map<Long, Long> fromDb = new HashMap<>();
+        for (Object[] row : userRepository.findNonZeroTokenVersions()) {
+            fromDb.put((Long) row[0], (Long) row[1]);
+        }
+        for (Long userId : deletedUserRepository.findActiveUserIds(LocalDateTime.now())) { //다른 서버에서 삭제한 회원, 재시작 전에 삭제한 회원
+            fromDb.put(userId, DELETED);
+        }
+        synchronized (this) {
+            long expiredBefore = System.currentTimeMillis() - accessTokenExpiration;
+            deletedAt.values().removeIf(time -> time < expiredBefore);
+            //DB를 읽는 동안(락 밖) update()로 올린 세대가 방금 읽은 예전 값으로 덮이지 않도록 큰 값을 남김 (세대는 올라가기만 함)
+            //-> 삭제 표시(DELETED)는 deletedAt/deleted_users 기준으로만 다시 채워서 만료된 표시가 계속 쌓이지 않게 함
+            epochs.forEach((userId, version) -> {
+                if (version != DELETED) {
+                    fromDb.merge(userId, version, Math::max);
+                }
+            });
+            epochs.clear();
+            epochs.putAll(fromDb);
+            deletedAt.keySet().forEach(id -> epochs.put(id, DELETED));
+            table = new Table(epochs);
+        }
+        log.debug("토큰 세대 정보 {}건 로드", fromDb.size());
+    }
+
+    public boolean isCurrent(long userId, long tokenVersion) { //토큰의 세대가 회원의 현재 세대 이상이면 유효
+        return tokenVersion >= table.get(userId);
+    }
+
+    public synchronized void update(long userId, long tokenVersion) { //권한 변경 등으로 세대를 올렸을 때 호출
+        if (epochs.getOrDefault(userId, 0L) < tokenVersion) {
+            epochs.put(userId, tokenVersion);
+            table = new Table(epochs);
+        }
+    }
+
+    //회원 삭제 트랜잭션 안에서 호출 -> deleted_users에 표시를 남겨서 모든 서버가 다음 reload(jwt.token-epoch.refresh-interval-ms)에서 그 회원의 토큰을 거부
+    //(이 서버는 커밋 직후 markDeleted로 바로 반영)
+    public void recordDeleted(Collection<Long> userIds) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(accessTokenExpiration));
+        deletedUserRepository.saveAll(userIds.stream()
+                .map(userId -> DeletedUser.builder().userId(userId).expiresAt(expiresAt).build())
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-epoch.purge-interval-ms:3600000}") //Access Token이 모두 만료된 삭제 표시 정리
+    public void purgeExpired() {
+        int deleted = deletedUserRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("만료된 삭제 회원 표시 {}건 삭제", deleted);
+        }
+    }
+
+    public synchronized void markDeleted(Collection<Long> userIds) { //삭제된 회원의 토큰은 모두 거부
+        long now = System.currentTimeMillis();
+        for (Long userId : userIds) {
+            deletedAt.put(userId, now);
+            epochs.put(userId, DELETED);
+        }
+        table = new Table(epochs);
+    }
+}
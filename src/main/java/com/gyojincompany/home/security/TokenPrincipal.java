@@ -0,0 +1,69 @@
+package com.gyojincompany.home.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+
+import java.util.Collection;
+
+@Getter
+//Stateless 모드에서 DB 조회 없이 JWT 클레임만으로 만드는 가벼운 불변 사용자 객체
+//-> 비밀번호 해시 등 엔티티 전체를 들고 다니지 않고, 인증/인가에 필요한 정보만 가짐
+public final class TokenPrincipal implements AuthUser, UserDetails {
+    
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final Role role;
+    private final AuthProvider provider;
+    private final long tokenVersion;
+    
+    public TokenPrincipal(Long id, String email, String name, Role role, AuthProvider provider, long tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.provider = provider;
+        this.tokenVersion = tokenVersion;
+    }
+    
+    //검증된 토큰에서 TokenPrincipal 만들기 -> 필요한 클레임이 없는 예전 토큰이면 null 반환 (DB 조회 방식으로 처리하도록)
+    public static TokenPrincipal from(VerifiedToken token) {
+        Long id = token.getLongClaim(JwtUtil.CLAIM_USER_ID);
+        String role = token.getClaim(JwtUtil.CLAIM_ROLE, String.class);
+        if (id == null || role == null || token.getSubject() == null) {
+            return null;
+        }
+        String provider = token.getClaim(JwtUtil.CLAIM_PROVIDER, String.class);
+        Long tokenVersion = token.getLongClaim(JwtUtil.CLAIM_TOKEN_VERSION);
+        try {
+            return new TokenPrincipal(
+                    id,
+                    token.getSubject(),
+                    token.getClaim(JwtUtil.CLAIM_NAME, String.class),
+                    Role.valueOf(role),
+                    provider != null ? AuthProvider.valueOf(provider) : null,
+                    tokenVersion != null ? tokenVersion : 0);
+        } catch (IllegalArgumentException e) { //알 수 없는 role/provider 값이면 DB 조회 방식으로 처리
+            return null;
+        }
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { //Role마다 미리 만들어 둔 권한 목록 재사용
+        return role.getAuthorities();
+    }
+    
+    @Override
+    public String getPassword() { //토큰 기반 인증이므로 비밀번호는 들고 있지 않음
+        return null;
+    }
+    
+    @Override
+    public String getUsername() { //User 엔티티와 동일하게 email을 아이디로 사용
+        return email;
+    }
+}
@@ -0,0 +1,56 @@
+package com.gyojincompany.home.security;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+//서명 검증과 만료 검사를 "한 번" 통과한 JWT의 내용을 담아두는 불변 객체
+//-> 같은 토큰을 여러 번 파싱하지 않고 이 객체 하나로 subject, 만료시간, 발급시간, 커스텀 클레임을 모두 꺼내 쓸 수 있음
+public final class VerifiedToken {
+
+    private final String subject; //토큰 주인(email)
+    private final long issuedAt; //발급 시간(ms)
+    private final long expiresAt; //만료 시간(ms)
+    private final Map<String, Object> claims; //커스텀 클레임 포함 전체 클레임
+
+    public VerifiedToken(String subject, long issuedAt, long expiresAt, Map<String, Object> claims) {
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.claims = claims != null ? Collections.unmodifiableMap(claims) : Collections.emptyMap();
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAt);
+    }
+
+    public Date getExpiration() {
+        return new Date(expiresAt);
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long nowMillis) { //만료시간이 지나면 true
+        return expiresAt <= nowMillis;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    public <T> T getClaim(String name, Class<T> type) { //커스텀 클레임을 원하는 타입으로 꺼내기 (없거나 타입이 다르면 null)
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public Long getLongClaim(String name) { //JSON 숫자는 Integer/Long 어느 쪽으로도 들어올 수 있으므로 Number로 받아 변환
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
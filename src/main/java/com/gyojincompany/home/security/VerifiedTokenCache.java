@@ -0,0 +1,100 @@
+package com.gyojincompany.home.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+//이미 서명 검증을 통과한 토큰의 결과(VerifiedToken)를 잠시 보관해서 같은 토큰이 다시 오면 HMAC 계산과 JSON 파싱을 건너뛰게 해주는 캐시
+//-> 키는 토큰 문자열 전체(서명 포함)의 SHA-256 앞 128비트이므로 한 글자라도 다른 토큰은 절대 같은 항목을 찾지 못함
+//-> 각 항목은 토큰의 exp 시각(또는 maxTtl 중 더 빠른 시각)에 자동으로 제거됨
+class VerifiedTokenCache {
+
+    private record TokenDigest(long high, long low) {} //토큰 문자열 대신 16바이트만 보관해서 항목당 메모리를 줄임
+
+    //MessageDigest 재사용 풀 -> 가상 스레드는 요청마다 새로 생기므로 ThreadLocal로는 재사용되지 않음
+    private static final ArrayBlockingQueue<MessageDigest> SHA256 =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 4);
+
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    VerifiedTokenCache(long maxSize, long maxTtlMillis) {
+        this.cache = Caffeine.newBuilder() //Caffeine은 전역 락 없이 동작하므로 요청 스레드(플랫폼/가상)가 많아도 병목이 생기지 않음
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<TokenDigest, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+                        long untilExp = value.getExpiresAtMillis() - System.currentTimeMillis();
+                        long ttl = maxTtlMillis > 0 ? Math.min(untilExp, maxTtlMillis) : untilExp;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(ttl, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        TokenDigest digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        long now = System.currentTimeMillis();
+        if (cached != null && !cached.isExpired(now)) {
+            return cached; //캐시 hit -> 서명 검증, JSON 파싱 모두 생략
+        }
+        //캐시 miss -> 실제 검증은 락 밖에서 실행하고 성공한 결과만 저장 (위조/만료 토큰은 예외가 발생하므로 저장되지 않음)
+        VerifiedToken verified = verifier.apply(token);
+        if (!verified.isExpired(now)) {
+            cache.put(digest, verified);
+        }
+        return verified;
+    }
+
+    void invalidateAll() { //서명키가 바뀌면 이전 키로 검증한 결과는 모두 버림
+        cache.invalidateAll();
+    }
+
+    Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest sha256 = SHA256.poll();
+        if (sha256 == null) {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII)); //JWT는 Base64URL 문자와 '.'으로만 이루어짐 (digest 후 자동 reset)
+        SHA256.offer(sha256);
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,212 @@
+package com.gyojincompany.home.security.oauth2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+@Slf4j
+@Component
+//구글/네이버 로그인 시작 ~ 콜백 사이에 보관해야 하는 인가 요청(state, redirect-uri 등)을 HttpSession 대신 암호화된 쿠키에 저장
+//-> 세션을 쓰면 로그인을 시작한 서버로 콜백이 돌아와야 해서(sticky session) 서버를 여러 대로 늘릴 수 없음
+//-> 쿠키 값은 AES-GCM으로 암호화 + 위변조 검증 -> 어느 서버에서든 같은 키로 풀어서 로그인을 마칠 수 있고, 서버 메모리에는 아무것도 남지 않음
+public class CookieOAuth2AuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private static final byte VERSION = 2; //쿠키 형식이 바뀌면 올림 -> 예전 형식 쿠키는 무시 (1: 자바 직렬화, 2: JSON)
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int MAX_COOKIE_LENGTH = 4000; //브라우저 쿠키 한 개 최대 크기(4KB) 이내
+
+    //인가 요청은 필드를 하나씩 JSON으로 저장 -> 자바 직렬화와 달리 스프링 시큐리티 버전(serialVersionUID)이 바뀌어도 풀 수 있고,
+    //키가 유출되더라도 임의 클래스를 만들 수 없음
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${oauth2.authorization-cookie.name:oauth2_auth_request}")
+    private String cookieName;
+
+    @Value("${oauth2.authorization-cookie.secret:${jwt.secret}}") //여러 서버가 같은 값을 써야 함 (비워두면 JWT 비밀키에서 별도 키를 만들어 사용)
+    private String secret;
+
+    @Value("${oauth2.authorization-cookie.max-age-seconds:180}") //로그인 화면에서 이 시간 안에 돌아오지 않으면 다시 시작
+    private long maxAgeSeconds;
+
+    @Value("${oauth2.authorization-cookie.secure:true}") //HTTPS에서만 전송 (로컬 http 개발 환경이면 false)
+    private boolean secure;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        //용도 문자열을 붙여서 해시 -> JWT 서명 키와 같은 secret을 써도 서로 다른 키가 됨
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(("oauth2-authorization-request:" + secret).getBytes(StandardCharsets.UTF_8));
+        key = new SecretKeySpec(digest, "AES");
+    }
+
+    @Override //콜백(/login/oauth2/code/*)에서 쿠키의 인가 요청을 꺼냄 -> state가 다르면 null (CSRF 방지)
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        OAuth2AuthorizationRequest authorizationRequest = readCookie(request);
+        return authorizationRequest != null && state.equals(authorizationRequest.getState()) ? authorizationRequest : null;
+    }
+
+    @Override //로그인 시작(/oauth2/authorization/*)에서 구글/네이버로 보내기 전에 인가 요청을 쿠키로 저장
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest, HttpServletRequest request,
+                                         HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            deleteCookie(response);
+            return;
+        }
+        String value = encrypt(authorizationRequest);
+        if (value.length() > MAX_COOKIE_LENGTH) {
+            log.warn("OAuth2 인가 요청 쿠키가 너무 큽니다 ({}자) - 브라우저가 저장하지 않을 수 있음", value.length());
+        }
+        addCookie(response, value, Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    @Override //콜백 처리 후 한 번만 쓰도록 쿠키 삭제
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request, HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            deleteCookie(response);
+        }
+        return authorizationRequest;
+    }
+
+    private OAuth2AuthorizationRequest readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                return decrypt(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    private void addCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+                .path("/")
+                .httpOnly(true) //JS에서 읽을 수 없음
+                .secure(secure)
+                .sameSite("Lax") //구글/네이버에서 우리 콜백 주소로 돌아오는 이동(top-level GET)에는 쿠키가 같이 옴
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private void deleteCookie(HttpServletResponse response) {
+        addCookie(response, "", Duration.ZERO);
+    }
+
+    //쿠키 값 = base64url( 버전 1바이트 | IV 12바이트 | AES-GCM( 만료시각 8바이트 | deflate(인가 요청 JSON) ) )
+    private String encrypt(OAuth2AuthorizationRequest authorizationRequest) {
+        try {
+            ByteArrayOutputStream plain = new ByteArrayOutputStream(512);
+            plain.write(ByteBuffer.allocate(Long.BYTES).putLong(System.currentTimeMillis() + maxAgeSeconds * 1000).array());
+            try (OutputStream out = new DeflaterOutputStream(plain, new Deflater(Deflater.BEST_COMPRESSION))) {
+                OBJECT_MAPPER.writeValue(out, StoredRequest.from(authorizationRequest));
+            }
+
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(new byte[] {VERSION});
+            byte[] encrypted = cipher.doFinal(plain.toByteArray());
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(1 + IV_LENGTH + encrypted.length)
+                    .put(VERSION).put(iv).put(encrypted).array());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("OAuth2 인가 요청 쿠키 생성 실패", e);
+        }
+    }
+
+    private OAuth2AuthorizationRequest decrypt(String value) { //위변조/만료/형식 오류는 모두 null -> 로그인 실패로 처리됨
+        try {
+            byte[] data = Base64.getUrlDecoder().decode(value);
+            if (data.length <= 1 + IV_LENGTH || data[0] != VERSION) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 1, IV_LENGTH));
+            cipher.updateAAD(data, 0, 1);
+            byte[] plain = cipher.doFinal(data, 1 + IV_LENGTH, data.length - 1 - IV_LENGTH); //태그가 맞지 않으면 AEADBadTagException
+
+            ByteBuffer buffer = ByteBuffer.wrap(plain);
+            if (buffer.getLong() < System.currentTimeMillis()) {
+                return null; //쿠키 Max-Age와 별개로 서버에서도 만료 확인
+            }
+            InputStream compressed = new ByteArrayInputStream(plain, Long.BYTES, plain.length - Long.BYTES);
+            try (InputStream in = new InflaterInputStream(compressed)) {
+                return OBJECT_MAPPER.readValue(in, StoredRequest.class).toAuthorizationRequest();
+            }
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            log.debug("OAuth2 인가 요청 쿠키 무시: {}", e.toString());
+            return null;
+        }
+    }
+
+    //쿠키에 저장하는 인가 요청 필드 (grant type/response type은 authorization_code/code로 고정이라 저장하지 않음)
+    //-> additionalParameters: OIDC nonce 등, attributes: registration_id, PKCE code_verifier 등 (모두 문자열)
+    record StoredRequest(String authorizationUri, String clientId, String redirectUri, Set<String> scopes, String state,
+                         Map<String, Object> additionalParameters, Map<String, Object> attributes,
+                         String authorizationRequestUri) {
+
+        static StoredRequest from(OAuth2AuthorizationRequest request) {
+            return new StoredRequest(request.getAuthorizationUri(), request.getClientId(), request.getRedirectUri(),
+                    request.getScopes(), request.getState(), request.getAdditionalParameters(), request.getAttributes(),
+                    request.getAuthorizationRequestUri());
+        }
+
+        OAuth2AuthorizationRequest toAuthorizationRequest() {
+            return OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(authorizationUri)
+                    .clientId(clientId)
+                    .redirectUri(redirectUri)
+                    .scopes(scopes)
+                    .state(state)
+                    .additionalParameters(additionalParameters)
+                    .attributes(attributes)
+                    .authorizationRequestUri(authorizationRequestUri)
+                    .build();
+        }
+    }
+}
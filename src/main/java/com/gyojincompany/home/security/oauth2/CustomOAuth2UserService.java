@@ -1,9 +1,12 @@
 package com.gyojincompany.home.security.oauth2;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
@@ -11,9 +14,14 @@ import com.gyojincompany.home.entity.AuthProvider;
 import com.gyojincompany.home.entity.Role;
 import com.gyojincompany.home.entity.User;
 import com.gyojincompany.home.repository.UserRepository;
+import com.gyojincompany.home.security.AuthMetrics;
+import com.gyojincompany.home.security.CustomUserDetailsService;
+import com.gyojincompany.home.service.UserStatistics;
 
 
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -23,43 +31,74 @@ import java.util.Optional;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     
     private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserStatistics userStatistics;
+    private final OAuth2HttpClients httpClients;
+    private final AuthMetrics authMetrics;
+    
+    @PostConstruct
+    void init() { //사용자 정보 API(user-info-uri) 호출에 연결 풀 + 타임아웃이 있는 클라이언트 사용 (기본 RestTemplate은 타임아웃 없음)
+        setRestOperations(httpClients.userInfoRestTemplate());
+    }
     
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {	
-        OAuth2User oAuth2User = super.loadUser(userRequest);
-        //구글 또는 네이버에서 제공하는 사용자 정보(이름, 이메일 등)를 가져옴 -> 로그인 정보 제공자 정보 불러오기
-        
         String registrationId = userRequest.getClientRegistration().getRegistrationId();
         //어떤 경로의 로그인인지 확인 (google or naver)
+        AuthProvider metricProvider = AuthMetrics.providerOf(registrationId);
         
+        //소셜 로그인 전체(auth.oauth2.login)와 공급자 사용자 정보 API 호출(auth.oauth2.user_info)을 공급자별로 따로 기록
+        return authMetrics.time(AuthMetrics.Stage.OAUTH2_LOGIN, metricProvider, () -> {
+            OAuth2User oAuth2User = authMetrics.time(AuthMetrics.Stage.OAUTH2_USER_INFO, metricProvider,
+                    () -> super.loadUser(userRequest));
+            //구글 또는 네이버에서 제공하는 사용자 정보(이름, 이메일 등)를 가져옴 -> 로그인 정보 제공자 정보 불러오기
+            return saveUser(registrationId, oAuth2User);
+        });
+    }
+    
+    private User saveUser(String registrationId, OAuth2User oAuth2User) { //공급자 사용자 정보 -> 우리 회원으로 저장/갱신
         OAuth2UserInfo oAuth2UserInfo = getOAuth2UserInfo(registrationId, oAuth2User.getAttributes());
         //구글인지 네이버인지에 따라 파싱 방식 다르게 설정하여 통일된 형태(OAuth2UserInfo) 로 변환함 -> 아래 메서드 정의되어 있음
         //-> 구글은 { email, name, sub(id) }, 네이버는 { response: { id, email, name } }
         
         if (oAuth2UserInfo.getEmail() == null || oAuth2UserInfo.getEmail().isEmpty()) {
-            throw new OAuth2AuthenticationException("Email not found from OAuth2 provider");
+            throw new OAuth2AuthenticationException(new OAuth2Error("email_missing"), "Email not found from OAuth2 provider");
         } //이메일이 없으면 본인 확인이 안 되므로 오류 처리 
         
         AuthProvider provider = AuthProvider.valueOf(registrationId.toUpperCase()); //공급처를 대문자로 변환
+        String email = oAuth2UserInfo.getEmail();
+        String name = oAuth2UserInfo.getName();
         Optional<User> userOptional = userRepository.findByProviderAndProviderId(provider, oAuth2UserInfo.getId());
-        //DB에서 이 사용자가 있는지 확인 -> 구글이나 네이버에서 받은 providerId(고유ID) 로 조회
+        //DB에서 이 사용자가 있는지 확인 -> 구글이나 네이버에서 받은 providerId(고유ID) 로 조회 ((provider, providerId) unique 인덱스)
         
-        User user;
-        if (userOptional.isPresent()) { //이미 가입된 사용자일 경우 true
-            user = userOptional.get(); //사용자 정보 가져오기
-            user.setName(oAuth2UserInfo.getName()); //이미 가입된 사용자면 정보 업데이트
-        } else { // 처음 로그인한 사용자면 새로 DB에 회원 정보 저장
-            user = User.builder()
-                    .email(oAuth2UserInfo.getEmail())
-                    .name(oAuth2UserInfo.getName())
-                    .password("") //비밀번호는 소셜로그인이므로 "" (빈 문자열)
-                    .provider(provider)
-                    .providerId(oAuth2UserInfo.getId())
-                    .role(Role.USER)
-                    .build();
+        if (userOptional.isEmpty()) { // 처음 로그인한 사용자면 새로 DB에 회원 정보 저장 (비밀번호는 소셜로그인이므로 "" (빈 문자열))
+            int inserted = userRepository.insertOAuthUserIfAbsent(email, User.normalizeEmail(email), name,
+                    provider.name(), oAuth2UserInfo.getId(), LocalDateTime.now());
+            if (inserted > 0) {
+                userStatistics.recordCreated(Role.USER, provider); //처음 가입한 소셜 회원만 대시보드 회원 수에 더함
+            }
+            userOptional = userRepository.findByProviderAndProviderId(provider, oAuth2UserInfo.getId());
+            //다른 탭에서 먼저 저장했어도 여기서 그 회원을 읽음, 그래도 없으면 같은 이메일이 다른 가입경로로 이미 등록된 것
+            if (userOptional.isEmpty()) {
+                throw new OAuth2AuthenticationException(new OAuth2Error("email_conflict"), "Email already registered with another login method");
+            }
         }
         
-        userRepository.save(user);
+        User user = userOptional.get();
+        if (!Objects.equals(user.getName(), name) || !Objects.equals(user.getEmail(), email)) {
+            //이미 가입된 사용자는 이름/이메일이 바뀌었을 때만 UPDATE (바뀐 게 없으면 쓰기 없이 조회 한 번으로 끝)
+            String previousEmail = user.getEmail();
+            try {
+                userRepository.updateOAuthProfile(user.getId(), name, email, User.normalizeEmail(email), LocalDateTime.now());
+            } catch (DataIntegrityViolationException e) { //바뀐 이메일을 이미 다른 회원이 쓰고 있음
+                throw new OAuth2AuthenticationException(new OAuth2Error("email_conflict"), "Email already registered with another login method");
+            }
+            user.setName(name);
+            user.setEmail(email);
+            user.setEmailNormalized(User.normalizeEmail(email));
+            userDetailsService.evict(previousEmail); //캐시된 예전 정보 제거
+            userDetailsService.evict(email);
+        }
         return user;
     }
     
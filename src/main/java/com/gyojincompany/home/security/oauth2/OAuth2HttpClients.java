@@ -0,0 +1,189 @@
+package com.gyojincompany.home.security.oauth2;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.RestClientAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@Component
+//구글/네이버 토큰 발급(token-uri)과 사용자 정보(user-info-uri) 호출에 쓰는 HTTP 클라이언트
+//-> 스프링 기본 RestTemplate은 연결 풀/타임아웃이 없어서 공급자가 느려지면 로그인 요청 스레드가 응답이 올 때까지 계속 묶임
+//-> 공급자(registrationId)마다 연결 풀을 따로 두고 연결/응답 대기 시간, 최대 연결 수를 제한 + keep-alive로 연결 재사용
+//   (네이버가 느려져도 구글 로그인의 연결 풀은 영향 받지 않음)
+public class OAuth2HttpClients implements ClientHttpRequestFactory, DisposableBean, MeterBinder {
+
+    private static final String PREFIX = "oauth2.http.";
+
+    private record Pool(String name, PoolingHttpClientConnectionManager connections, CloseableHttpClient client,
+                        HttpComponentsClientHttpRequestFactory requestFactory) {}
+
+    private final Map<String, Pool> poolsByHost = new HashMap<>(); //token-uri, user-info-uri 호스트 -> 해당 공급자의 풀
+    private final Map<String, Pool> poolsByProvider = new LinkedHashMap<>();
+    private final Pool fallback; //등록된 공급자 주소가 아닌 요청 (oauth2.http.default 설정만 적용)
+
+    //설정 키: oauth2.http.providers.<registrationId>.<키> -> 없으면 oauth2.http.default.<키> -> 없으면 코드 기본값
+    public OAuth2HttpClients(ClientRegistrationRepository registrations, Environment env) {
+        fallback = createPool("default", env);
+        if (registrations instanceof Iterable<?> iterable) { //InMemoryClientRegistrationRepository (application.yml 등록 정보)
+            for (Object item : iterable) {
+                ClientRegistration registration = (ClientRegistration) item;
+                Pool pool = createPool(registration.getRegistrationId(), env);
+                poolsByProvider.put(registration.getRegistrationId(), pool);
+                ClientRegistration.ProviderDetails details = registration.getProviderDetails();
+                register(details.getTokenUri(), pool);
+                register(details.getUserInfoEndpoint().getUri(), pool);
+            }
+        }
+    }
+
+    @Override //요청 주소의 호스트로 공급자 풀을 골라서 요청 생성
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Pool pool = uri.getHost() != null ? poolsByHost.getOrDefault(uri.getHost().toLowerCase(Locale.ROOT), fallback) : fallback;
+        return pool.requestFactory().createRequest(uri, httpMethod);
+    }
+
+    //사용자 정보 조회용 (DefaultOAuth2UserService.setRestOperations) -> 공급자 오류 응답을 OAuth2 예외로 바꾸는 핸들러 필요
+    public RestTemplate userInfoRestTemplate() {
+        RestTemplate restTemplate = new RestTemplate(this);
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        return restTemplate;
+    }
+
+    //인가 코드 -> 토큰 교환용 (스프링 기본 구현과 같은 변환기/오류 처리, HTTP 클라이언트만 교체)
+    public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> tokenResponseClient() {
+        RestClient restClient = RestClient.builder()
+                .requestFactory(this)
+                .messageConverters(converters -> {
+                    converters.clear();
+                    converters.add(new FormHttpMessageConverter());
+                    converters.add(new OAuth2AccessTokenResponseHttpMessageConverter());
+                })
+                .defaultStatusHandler(new OAuth2ErrorResponseErrorHandler())
+                .build();
+        RestClientAuthorizationCodeTokenResponseClient client = new RestClientAuthorizationCodeTokenResponseClient();
+        client.setRestClient(restClient);
+        return client;
+    }
+
+    public Map<String, Object> getPoolStats() { //공급자별 연결 풀 현황 (사용 중 / 쉬는 연결 / 연결을 기다리는 요청 / 최대)
+        Map<String, Object> result = new LinkedHashMap<>();
+        poolsByProvider.forEach((provider, pool) -> result.put(provider, stats(pool)));
+        result.put(fallback.name(), stats(fallback));
+        return result;
+    }
+
+    @Override //공급자별 연결 풀 현황을 /actuator/prometheus로 노출 (auth.oauth2.pool.* {provider=...})
+    public void bindTo(MeterRegistry registry) {
+        poolsByProvider.values().forEach(pool -> bindPool(registry, pool));
+        bindPool(registry, fallback);
+    }
+
+    @Override
+    public void destroy() throws IOException { //서버 종료 시 풀의 연결과 유휴 연결 정리 스레드 종료
+        for (Pool pool : poolsByProvider.values()) {
+            pool.client().close();
+        }
+        fallback.client().close();
+    }
+
+    private void register(String uri, Pool pool) {
+        if (uri == null || uri.isEmpty()) {
+            return;
+        }
+        String host = URI.create(uri).getHost();
+        if (host != null) {
+            poolsByHost.putIfAbsent(host.toLowerCase(Locale.ROOT), pool);
+        }
+    }
+
+    private static Pool createPool(String name, Environment env) {
+        long connectTimeoutMillis = property(env, name, "connect-timeout-ms", 2_000L);
+        long readTimeoutMillis = property(env, name, "read-timeout-ms", 5_000L);
+        long poolWaitMillis = property(env, name, "pool-wait-ms", 1_000L);
+        int maxConnections = property(env, name, "max-connections", Integer.class, 50);
+        long idleTimeoutMillis = property(env, name, "idle-timeout-ms", 30_000L);
+
+        PoolingHttpClientConnectionManager connections = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) //공급자 하나가 쓰는 호스트는 보통 1~2개라 호스트당 한도도 같게
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis)) //TCP/TLS 연결 대기
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis)) //응답 데이터가 오지 않고 멈춰 있을 수 있는 최대 시간
+                        .setTimeToLive(TimeValue.ofMinutes(5)) //오래된 연결은 새로 맺음 (공급자 DNS/서버 교체 반영)
+                        .build())
+                .build();
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(connections)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMillis)) //풀의 연결이 모두 사용 중일 때 기다리는 최대 시간
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMillis)) //공급자가 먼저 끊기 전에 쉬는 연결 정리
+                .evictExpiredConnections()
+                .disableCookieManagement()
+                .build();
+        log.info("OAuth2 HTTP 풀 [{}] - 연결 {}ms, 응답 {}ms, 최대 연결 {}", name, connectTimeoutMillis, readTimeoutMillis, maxConnections);
+        return new Pool(name, connections, client, new HttpComponentsClientHttpRequestFactory(client));
+    }
+
+    private static void bindPool(MeterRegistry registry, Pool pool) {
+        PoolingHttpClientConnectionManager connections = pool.connections();
+        Gauge.builder("auth.oauth2.pool.leased", connections, c -> c.getTotalStats().getLeased()).tag("provider", pool.name()).register(registry);
+        Gauge.builder("auth.oauth2.pool.available", connections, c -> c.getTotalStats().getAvailable()).tag("provider", pool.name()).register(registry);
+        Gauge.builder("auth.oauth2.pool.pending", connections, c -> c.getTotalStats().getPending()).tag("provider", pool.name()).register(registry);
+        Gauge.builder("auth.oauth2.pool.max", connections, c -> c.getTotalStats().getMax()).tag("provider", pool.name()).register(registry);
+    }
+
+    private static long property(Environment env, String name, String key, long defaultValue) {
+        return property(env, name, key, Long.class, defaultValue);
+    }
+
+    private static <T> T property(Environment env, String name, String key, Class<T> type, T defaultValue) {
+        T fallbackValue = env.getProperty(PREFIX + "default." + key, type, defaultValue);
+        return env.getProperty(PREFIX + "providers." + name + "." + key, type, fallbackValue);
+    }
+
+    private static Map<String, Object> stats(Pool pool) {
+        PoolStats total = pool.connections().getTotalStats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("leased", total.getLeased());
+        result.put("available", total.getAvailable());
+        result.put("pending", total.getPending());
+        result.put("max", total.getMax());
+        return result;
+    }
+}
@@ -5,12 +5,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.gyojincompany.home.entity.User;
 import com.gyojincompany.home.security.JwtUtil;
+import com.gyojincompany.home.service.RefreshTokenService;
 
 import java.io.IOException;
 
@@ -21,18 +22,19 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
 	//구글 또는 네이버 로그인 성공 → JWT accessToken + refreshToken 생성 → 프론트엔드(React)로 redirect해서 전달
     
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
     
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, 
                                         HttpServletResponse response, 
                                         Authentication authentication) throws IOException, ServletException {
         
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        //OAuth2 로그인 후 Spring Security가 만들어놓은 인증 객체(authentication)에서 로그인한 사용자(UserDetails) 를 꺼냄
-        String token = jwtUtil.generateToken(userDetails);
+        User user = (User) authentication.getPrincipal();
+        //OAuth2 로그인 후 Spring Security가 만들어놓은 인증 객체(authentication)에서 로그인한 사용자(CustomOAuth2UserService가 반환한 User) 를 꺼냄
+        String token = jwtUtil.generateToken(user);
         //로그인 성공 → JWT(access token) 발급        
-        String refreshToken = jwtUtil.generateRefreshToken(userDetails);
-        //refresh token도 함께 발급        
+        String refreshToken = refreshTokenService.issue(user);
+        //새 로그인 세션(family)을 만들고 refresh token도 함께 발급        
         
        //프론트엔드로 토큰 전달할 URL 만들기
 //        String targetUrl = UriComponentsBuilder.fromUriString("http://localhost:3000/oauth2/redirect")
@@ -0,0 +1,25 @@
+package com.gyojincompany.home.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+//DB 변경이 실제로 커밋된 뒤에만 메모리 상태(회원 캐시, 토큰 세대, 대시보드 카운터)를 바꾸기 위한 도우미
+//-> 롤백되면 실행하지 않음, 트랜잭션 밖에서 부르면 바로 실행
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -3,6 +3,8 @@ package com.gyojincompany.home.service;
 import lombok.RequiredArgsConstructor;
 
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,8 +20,12 @@ import com.gyojincompany.home.dto.AuthDto.SignupRequest;
 import com.gyojincompany.home.entity.AuthProvider;
 import com.gyojincompany.home.entity.Role;
 import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.exception.TooManyRequestsException;
 import com.gyojincompany.home.repository.UserRepository;
+import com.gyojincompany.home.security.AuthMetrics;
 import com.gyojincompany.home.security.JwtUtil;
+import com.gyojincompany.home.security.LoginThrottle;
+import com.gyojincompany.home.security.VerifiedToken;
 
 @Service
 @RequiredArgsConstructor
@@ -30,14 +36,17 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final UserStatistics userStatistics;
+    private final AuthMetrics authMetrics;
+    
+    private static final String PROVIDER_ID_CONSTRAINT = "uk_users_provider_provider_id";
     
     @Transactional
     public MessageResponse signup(SignupRequest request) { //회원 가입 처리
-        if (userRepository.existsByEmail(request.getEmail())) { //회원가입 요청이 들어옴 -> 이메일이 이미 존재하는지 확인
-            throw new RuntimeException("이미 등록된 이메일 입니다.");
-        }
-        
-        //이메일이 존재하지 않으면 회원가입 진행
+        //이메일 중복 확인(SELECT)을 따로 하지 않고 바로 INSERT -> DB 왕복 한 번
+        //-> 이미 있는 이메일이면 email/email_normalized unique 제약이 막아주므로 동시에 같은 이메일로 가입해도 한 명만 저장됨
         User user = User.builder() //비어있는 User 객체 만들기 -> 아래 내용 넣은 후 DB에 저장
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword())) //비밀번호는 반드시 암호화해서 저장
@@ -46,24 +55,57 @@ public class AuthService {
                 .provider(AuthProvider.LOCAL) //구글이나 네이버 같은 외부 로그인이 아닌 일반 회원 가입이므로 LOCAL로 저장
                 .build();
         
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user); //IDENTITY라 바로 INSERT 되지만 flush로 제약 위반을 여기서 확실히 받음
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) { //중복 이메일 -> 500 대신 기존과 같은 "이미 등록" 응답 (400)
+                throw new RuntimeException("이미 등록된 이메일 입니다.");
+            }
+            throw e; //NOT NULL, 길이 초과 등 실제 데이터 오류는 중복 이메일로 가리지 않음
+        }
+        userStatistics.recordCreated(Role.USER, AuthProvider.LOCAL); //대시보드 회원 수/가입 추이 (커밋된 뒤 반영)
         
         return MessageResponse.builder()
                 .message("회원 가입 성공!")
                 .build();
     }
     
-    public AuthResponse login(LoginRequest request) { //Spring Security 인증 시도
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken( //이메일 + 비밀번호가 맞는지 Spring Security가 알아서 검사함
-                        request.getEmail(), 
-                        request.getPassword()
-                )
-        );
+    //unique 키 위반일 때만 중복 이메일로 봄 -> LOCAL 가입은 providerId가 NULL이라 (provider, providerId) unique에는 걸리지 않으므로
+    //남는 unique 키는 email/email_normalized뿐 (컬럼 unique는 이름이 자동 생성되므로 이름 대신 위반 종류로 구분)
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                && (violation.getConstraintName() == null || !violation.getConstraintName().contains(PROVIDER_ID_CONSTRAINT));
+    }
+    
+    public AuthResponse login(LoginRequest request, String clientIp) { //Spring Security 인증 시도
+        long start = System.nanoTime(); //auth.login 소요 시간 (실패 사유별로 기록)
+        try {
+            loginThrottle.acquire(request.getEmail(), clientIp);
+            //이메일/IP별 시도 횟수 초과면 여기서 바로 429 -> 아래의 DB 조회와 BCrypt 비교를 하지 않음
+        } catch (TooManyRequestsException e) {
+            authMetrics.record(AuthMetrics.Stage.LOGIN, AuthMetrics.Reason.THROTTLED, start);
+            throw e;
+        }
         
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken( //이메일 + 비밀번호가 맞는지 Spring Security가 알아서 검사함
+                            request.getEmail(), 
+                            request.getPassword()
+                    )
+            );
+        } catch (RuntimeException e) { //비밀번호 불일치, 해시 대기열 가득 참(429) 등
+            authMetrics.record(AuthMetrics.Stage.LOGIN, AuthMetrics.reasonOf(e), start);
+            throw e;
+        }
+        
+        loginThrottle.onSuccess(request.getEmail()); //로그인 성공 -> 이 이메일의 시도 횟수 초기화
         User user = (User) authentication.getPrincipal(); //인증된 User 객체 가져오기
         String token = jwtUtil.generateToken(user); //JWT 생성
-        String refreshToken = jwtUtil.generateRefreshToken(user); //refresh token 생성 
+        String refreshToken = refreshTokenService.issue(user); //새 로그인 세션(family)을 만들고 refresh token 생성 
+        authMetrics.record(AuthMetrics.Stage.LOGIN, AuthMetrics.Reason.NONE, start);
         
         return AuthResponse.builder() //토큰 + 사용자 정보 반환
                 .token(token)
@@ -75,22 +117,49 @@ public class AuthService {
     }
     
     public AuthResponse refreshToken(RefreshTokenRequest request) { //리프레시 토큰으로 새 액세스 토큰 발급
-        String email = jwtUtil.extractUsername(request.getRefreshToken()); //리프레시 토큰에서 이메일 추출
-        User user = userRepository.findByEmail(email) //DB에서 이메일로 user 조회
-                .orElseThrow(() -> new RuntimeException("해당 회원을 찾을 수 없습니다."));
+        long start = System.nanoTime(); //auth.refresh 소요 시간 (실패 사유별로 기록)
+        VerifiedToken refreshToken;
+        try {
+            refreshToken = jwtUtil.verifyToken(request.getRefreshToken()); //리프레시 토큰을 한 번만 파싱/검증
+        } catch (RuntimeException e) { //만료, 서명 불일치, 형식 오류
+            authMetrics.record(AuthMetrics.Stage.REFRESH, AuthMetrics.reasonOf(e), start);
+            throw e;
+        }
+        User user = userRepository.findByEmailNormalized(User.normalizeEmail(refreshToken.getSubject())).orElse(null); //토큰에서 꺼낸 이메일로 DB에서 user 조회
+        if (user == null) {
+            authMetrics.record(AuthMetrics.Stage.REFRESH, AuthMetrics.Reason.UNKNOWN_USER, start);
+            throw new RuntimeException("해당 회원을 찾을 수 없습니다.");
+        }
         
-        if (jwtUtil.validateToken(request.getRefreshToken(), user)) { //리프레시 토큰이 유효한지 확인
+        if (jwtUtil.validateToken(refreshToken, user)) { //리프레시 토큰이 유효한지 확인 (다시 파싱하지 않음)
+            String newRefreshToken;
+            try {
+                newRefreshToken = refreshTokenService.rotate(refreshToken, user);
+                //리프레시 토큰 회전 -> 지금 받은 리프레시 토큰은 더 이상 못 쓰고, 이미 쓴 토큰이 다시 오면 세션 전체 폐기
+            } catch (RuntimeException e) { //폐기/만료/재사용된 세션
+                authMetrics.record(AuthMetrics.Stage.REFRESH, AuthMetrics.Reason.REVOKED, start);
+                throw e;
+            }
             String newToken = jwtUtil.generateToken(user); //새 access token 생성
+            authMetrics.record(AuthMetrics.Stage.REFRESH, AuthMetrics.Reason.NONE, start);
             
             return AuthResponse.builder()
                     .token(newToken)
-                    .refreshToken(request.getRefreshToken())
+                    .refreshToken(newRefreshToken)
                     .email(user.getEmail())
                     .name(user.getName())
                     .role(user.getRole().name())
                     .build();
-        } //리프레시 토큰은 그대로 두고, 액세스 토큰만 새로 발급해주는 구조임
+        } //액세스 토큰과 함께 리프레시 토큰도 새로 발급해주는 구조임 -> 클라이언트는 응답의 refreshToken으로 교체해서 저장해야 함
         
+        authMetrics.record(AuthMetrics.Stage.REFRESH, AuthMetrics.Reason.MALFORMED, start); //이메일이 다르거나 리프레시 토큰이 아님
         throw new RuntimeException("잘못된 리프레시 토큰입니다.");
     }
+    
+    public MessageResponse logout(RefreshTokenRequest request) { //로그아웃 -> 이 리프레시 토큰의 로그인 세션(family) 폐기
+        refreshTokenService.revoke(jwtUtil.verifyToken(request.getRefreshToken()));
+        return MessageResponse.builder()
+                .message("로그아웃 되었습니다.")
+                .build();
+    }
 }
@@ -0,0 +1,204 @@
+package com.gyojincompany.home.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gyojincompany.home.entity.RefreshTokenFamily;
+import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.repository.RefreshTokenFamilyRepository;
+import com.gyojincompany.home.security.JwtUtil;
+import com.gyojincompany.home.security.VerifiedToken;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+//리프레시 토큰 회전(rotation) + 재사용 탐지를 담당하는 서비스
+//-> 리프레시 토큰을 쓸 때마다 새 리프레시 토큰을 발급하고, 이미 쓴 토큰이 다시 오면 같은 family(로그인 세션)를 통째로 폐기
+//-> family 상태는 DB에 저장하고 메모리 캐시를 앞에 두어서 /api/auth/refresh 에서는 조회 쿼리 없이 PK 기준 UPDATE 1번만 실행
+public class RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.refresh-expiration}") //리프레시 토큰 유효기간(ms) -> 회전할 때마다 다시 이만큼 연장
+    private long refreshExpiration;
+
+    @Value("${jwt.refresh-rotation.cache-size:100000}") //메모리에 올려둘 family 수 (넘치면 DB에서 PK로 다시 읽음)
+    private long cacheSize;
+
+    @Value("${jwt.refresh-rotation.accept-legacy:false}") //회전 기능 도입 전에 발급된(fam 클레임 없는) 토큰을 한 번 받아 새 family로 옮겨줄지
+    private boolean acceptLegacy;
+
+    @Value("${jwt.refresh-rotation.legacy-issued-before:}") //이 시각(ISO-8601, 예: 2025-12-20T00:00:00Z) 이전에 발급된 토큰만 예전 토큰으로 인정 -> 비어 있으면 받지 않음
+    private String legacyIssuedBefore;
+
+    @Value("${jwt.refresh-rotation.purge-batch-size:1000}") //만료 family 삭제 시 한 번에 지울 개수
+    private int purgeBatchSize;
+
+    //메모리에 올려두는 family 상태 -> generation은 CAS로 올려서 같은 서버 안의 동시 요청 중 하나만 성공
+    private static final class FamilyState {
+        final Long userId;
+        final AtomicLong generation;
+        volatile boolean revoked;
+
+        FamilyState(Long userId, long generation, boolean revoked) {
+            this.userId = userId;
+            this.generation = new AtomicLong(generation);
+            this.revoked = revoked;
+        }
+    }
+
+    private Cache<String, FamilyState> families;
+    private Instant legacyCutoff; //null이면 예전 토큰을 받지 않음
+
+    @PostConstruct
+    void init() {
+        families = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(refreshExpiration))
+                .build();
+        if (acceptLegacy) {
+            if (legacyIssuedBefore == null || legacyIssuedBefore.isBlank()) {
+                log.warn("jwt.refresh-rotation.accept-legacy=true 이지만 legacy-issued-before가 없어 예전 리프레시 토큰을 받지 않습니다");
+            } else {
+                legacyCutoff = Instant.parse(legacyIssuedBefore.trim());
+            }
+        }
+    }
+
+    public String issue(User user) { //로그인 성공 시 새 family를 만들고 첫 번째(0세대) 리프레시 토큰 발급
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    private String issue(User user, String familyId) {
+        familyRepository.save(RefreshTokenFamily.builder()
+                .id(familyId)
+                .userId(user.getId())
+                .generation(0)
+                .revoked(false)
+                .expiresAt(nextExpiry())
+                .build());
+        families.put(familyId, new FamilyState(user.getId(), 0, false));
+        return jwtUtil.generateRefreshToken(user, familyId, 0);
+    }
+
+    //검증된 리프레시 토큰을 다음 세대로 회전하고 새 리프레시 토큰 반환 -> 재사용/폐기된 토큰이면 RuntimeException
+    public String rotate(VerifiedToken token, User user) {
+        String familyId = token.getClaim(JwtUtil.CLAIM_FAMILY, String.class);
+        Long generation = token.getLongClaim(JwtUtil.CLAIM_GENERATION);
+        String tokenType = token.getClaim(JwtUtil.CLAIM_TOKEN_TYPE, String.class);
+        if (familyId == null || generation == null) {
+            //fam/gen이 없으면 Access Token(같은 키로 서명됨)이거나 회전 기능 도입 전 리프레시 토큰 -> 둘은 구분할 수 없으므로
+            //도입 시각(legacy-issued-before) 이전에 발급된 토큰만, 토큰마다 한 번만 새 family로 옮겨줌
+            if (tokenType != null || !isLegacyToken(token)) {
+                throw new RuntimeException("잘못된 리프레시 토큰입니다.");
+            }
+            return issueLegacyOnce(token, user);
+        }
+        if (tokenType != null && !JwtUtil.TOKEN_TYPE_REFRESH.equals(tokenType)) {
+            throw new RuntimeException("잘못된 리프레시 토큰입니다."); //typ 클레임 도입 전 리프레시 토큰은 typ 없이 fam/gen만 있음
+        }
+
+        FamilyState state = families.getIfPresent(familyId);
+        if (state == null || state.generation.get() != generation) {
+            //메모리에 없거나(재시작, 다른 서버에서 발급) 세대가 다르면(다른 서버에서 회전했을 수 있음) DB에서 PK로 한 번 읽어 갱신
+            state = loadFamily(familyId);
+        }
+        if (state.revoked || !state.userId.equals(user.getId())) {
+            throw new RuntimeException("만료되었거나 폐기된 리프레시 토큰입니다.");
+        }
+
+        //1) 같은 서버 안의 경쟁: 메모리 CAS  2) 서버 간 경쟁: generation 조건부 UPDATE -> 둘 중 하나라도 실패하면 재사용으로 판단
+        if (!state.generation.compareAndSet(generation, generation + 1)
+                || familyRepository.rotate(familyId, generation, nextExpiry()) == 0) {
+            log.warn("리프레시 토큰 재사용 감지 - family {} 폐기 (userId {})", familyId, user.getId());
+            revokeFamily(familyId);
+            throw new RuntimeException("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+        return jwtUtil.generateRefreshToken(user, familyId, generation + 1);
+    }
+
+    public void revoke(VerifiedToken token) { //로그아웃 -> 해당 family(로그인 세션)만 폐기
+        String familyId = token.getClaim(JwtUtil.CLAIM_FAMILY, String.class);
+        if (familyId != null) {
+            revokeFamily(familyId);
+        }
+    }
+
+    public void revokeAllForUsers(Collection<Long> userIds) { //회원 삭제/권한 변경 시 그 회원의 모든 세션 폐기
+        if (userIds.isEmpty()) {
+            return;
+        }
+        familyRepository.revokeAllByUserIdIn(userIds);
+        families.asMap().values().forEach(state -> {
+            if (userIds.contains(state.userId)) {
+                state.revoked = true;
+            }
+        });
+    }
+
+    private boolean isLegacyToken(VerifiedToken token) {
+        return legacyCutoff != null && token.getIssuedAt().toInstant().isBefore(legacyCutoff);
+    }
+
+    //예전 토큰(subject + 발급/만료 시각)마다 고정된 family id를 만들어 INSERT -> 같은 토큰이 다시 오면 PK 중복으로 거부 (서버가 여러 대여도 한 번만 성공)
+    private String issueLegacyOnce(VerifiedToken token, User user) {
+        String familyId = UUID.nameUUIDFromBytes(("legacy:" + token.getSubject() + ":" + token.getIssuedAt().getTime()
+                + ":" + token.getExpiresAtMillis()).getBytes(StandardCharsets.UTF_8)).toString();
+        try {
+            return issue(user, familyId);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("예전 리프레시 토큰 재사용 감지 - userId {}", user.getId());
+            throw new RuntimeException("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+    }
+
+    private FamilyState loadFamily(String familyId) {
+        RefreshTokenFamily family = familyRepository.findById(familyId)
+                .orElseThrow(() -> new RuntimeException("잘못된 리프레시 토큰입니다."));
+        FamilyState state = new FamilyState(family.getUserId(), family.getGeneration(), family.isRevoked());
+        families.put(familyId, state);
+        return state;
+    }
+    
+    private void revokeFamily(String familyId) {
+        FamilyState state = families.getIfPresent(familyId);
+        if (state != null) {
+            state.revoked = true;
+        }
+        familyRepository.revoke(familyId);
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-rotation.purge-interval-ms:3600000}") //만료된 family를 백그라운드에서 나눠서 삭제
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = familyRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("만료된 리프레시 토큰 family {}개 삭제", total);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.gyojincompany.home.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gyojincompany.home.dto.BulkUserDto.UserSelector;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.repository.UserRepository;
+import com.gyojincompany.home.security.CustomUserDetailsService;
+import com.gyojincompany.home.security.TokenEpochRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+//관리자 회원 삭제/권한 변경 (한 명 또는 여러 명)
+//-> 대상 회원을 한 번 조회한 뒤 DELETE/UPDATE 한 문장으로 처리하고 (엔티티를 한 명씩 읽지 않음)
+//-> 커밋이 끝나면 회원 캐시, 토큰 세대, 리프레시 토큰 세션을 같이 정리해서 이미 발급된 토큰도 바로 쓸 수 없게 함
+public class UserAdminService {
+
+    private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenEpochRegistry tokenEpochs;
+    private final UserStatistics userStatistics;
+
+    @Value("${admin.bulk.max-users:10000}") //한 번에 삭제/변경할 수 있는 최대 회원 수 (조건을 잘못 줘서 너무 많이 바뀌는 것 방지)
+    private int maxUsers;
+
+    private record Target(List<Long> ids, List<String> emails, List<Role> roles, List<AuthProvider> providers) {}
+
+    @Transactional
+    public int deleteUsers(UserSelector selector) { //삭제된 회원 수 반환
+        Target target = resolve(selector);
+        if (target.ids().isEmpty()) {
+            return 0;
+        }
+        int deleted = userRepository.deleteAllByIdIn(target.ids());
+        refreshTokenService.revokeAllForUsers(target.ids()); //삭제된 회원의 리프레시 토큰으로 재발급 받지 못하도록 세션 폐기 (같은 트랜잭션)
+        tokenEpochs.recordDeleted(target.ids()); //다른 서버/재시작 후에도 삭제된 회원의 Access Token을 거부하도록 DB에 표시 (같은 트랜잭션)
+        for (int i = 0; i < target.ids().size(); i++) {
+            userStatistics.recordDeleted(target.roles().get(i), target.providers().get(i)); //커밋된 뒤에 대시보드 회원 수 감소
+        }
+        AfterCommit.run(() -> {
+            target.emails().forEach(userDetailsService::evict); //삭제된 회원이 캐시에 남아 계속 인증되지 않도록 제거
+            tokenEpochs.markDeleted(target.ids()); //이미 발급된 Access Token도 만료를 기다리지 않고 바로 거부
+        });
+        log.info("회원 {}명 삭제", deleted);
+        return deleted;
+    }
+
+    @Transactional
+    public int changeRole(UserSelector selector, Role role) { //권한이 변경된 회원 수 반환
+        if (role == null) {
+            throw new RuntimeException("Invalid role");
+        }
+        Target target = resolve(selector);
+        if (target.ids().isEmpty()) {
+            return 0;
+        }
+        int updated = userRepository.updateRoleByIdIn(target.ids(), role, LocalDateTime.now());
+        List<Object[]> versions = userRepository.findTokenVersionsByIdIn(target.ids()); //방금 올린 토큰 세대 (UPDATE로 잠긴 행이라 정확함)
+        refreshTokenService.revokeAllForUsers(target.ids()); //예전 권한으로 로그인한 세션의 리프레시 토큰도 폐기 -> 다시 로그인해야 새 권한 토큰을 받음 (같은 트랜잭션)
+        for (int i = 0; i < target.ids().size(); i++) {
+            userStatistics.recordRoleChanged(target.roles().get(i), role, target.providers().get(i));
+        }
+        AfterCommit.run(() -> {
+            target.emails().forEach(userDetailsService::evict); //캐시에 예전 권한이 남아 있지 않도록 제거
+            for (Object[] row : versions) {
+                tokenEpochs.update((Long) row[0], (Long) row[1]); //예전 권한이 담긴 Access Token 즉시 거부
+            }
+        });
+        log.info("회원 {}명 권한 변경 -> {}", updated, role);
+        return updated;
+    }
+
+    private Target resolve(UserSelector selector) { //ids 또는 role/provider 조건에 해당하는 회원의 id, email, role, provider를 한 번에 조회
+        List<Object[]> rows;
+        if (selector != null && selector.getIds() != null && !selector.getIds().isEmpty()) {
+            if (selector.getIds().size() > maxUsers) {
+                throw new RuntimeException("한 번에 최대 " + maxUsers + "명까지 처리할 수 있습니다.");
+            }
+            rows = userRepository.findTargetsByIdIn(selector.getIds());
+        } else if (selector != null && (selector.getRole() != null || selector.getProvider() != null)) {
+            rows = userRepository.findTargetsByFilter(selector.getRole(), selector.getProvider(), Limit.of(maxUsers + 1));
+            if (rows.size() > maxUsers) {
+                throw new RuntimeException("조건에 해당하는 회원이 " + maxUsers + "명을 넘습니다. 조건을 좁혀 주세요.");
+            }
+        } else {
+            throw new RuntimeException("대상 회원(ids 또는 role/provider 조건)을 지정해 주세요."); //조건 없이 전체 회원이 바뀌는 것 방지
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<String> emails = new ArrayList<>(rows.size());
+        List<Role> roles = new ArrayList<>(rows.size());
+        List<AuthProvider> providers = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+            emails.add((String) row[1]);
+            roles.add((Role) row[2]);
+            providers.add((AuthProvider) row[3]);
+        }
+        return new Target(ids, emails, roles, providers);
+    }
+}
@@ -0,0 +1,129 @@
+package com.gyojincompany.home.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+//전체 회원 내보내기(컴플라이언스용) -> DB 결과를 한 줄씩 읽으면서 바로 응답으로 씀
+//-> 엔티티/리스트로 모아두지 않으므로 회원 수와 상관없이 메모리 사용량이 일정함
+//-> id 순서로 내보내므로 연결이 끊기면 마지막으로 받은 id를 afterId로 넘겨서 이어받을 수 있음
+public class UserExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String SQL =
+            "SELECT id, email, name, role, provider, created_at, updated_at FROM users WHERE id > ? ORDER BY id";
+    private static final String CSV_HEADER = "id,email,name,role,provider,createdAt,updatedAt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.export.fetch-size:-2147483648}") //MySQL은 Integer.MIN_VALUE일 때 결과를 한 행씩 스트리밍 (그 외 DB는 양수로 설정)
+    private int fetchSize;
+
+    public void export(OutputStream out, Format format, long afterId) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        JsonGenerator json = null;
+        if (format == Format.NDJSON) {
+            json = objectMapper.getFactory().createGenerator(writer);
+            json.setRootValueSeparator(null); //행 구분은 아래에서 줄바꿈으로 직접 씀
+        }
+        JsonGenerator jsonRows = json;
+        if (format == Format.CSV && afterId == 0) { //이어받기(afterId > 0)일 때는 헤더를 다시 쓰지 않음
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long[] count = new long[1];
+        try {
+            jdbcTemplate.query(connection -> {
+                //앞으로만 읽는 읽기 전용 결과 + fetch size -> 드라이버가 전체 결과를 메모리에 올리지 않음
+                PreparedStatement statement = connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, afterId);
+                return statement;
+            }, (ResultSet rs) -> {
+                try {
+                    if (jsonRows != null) {
+                        writeJson(jsonRows, rs);
+                        jsonRows.writeRaw('\n');
+                    } else {
+                        writeCsv(writer, rs);
+                    }
+                    count[0]++;
+                } catch (IOException e) { //클라이언트 연결 끊김 -> 조회 중단
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.info("회원 내보내기 중단 ({}행 전송 후): {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+        log.info("회원 내보내기 완료 - {} {}행 (afterId {})", format, count[0], afterId);
+    }
+
+    private static void writeJson(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong(1));
+        json.writeStringField("email", rs.getString(2));
+        json.writeStringField("name", rs.getString(3));
+        json.writeStringField("role", rs.getString(4));
+        json.writeStringField("provider", rs.getString(5));
+        json.writeStringField("createdAt", toText(rs.getObject(6, LocalDateTime.class)));
+        json.writeStringField("updatedAt", toText(rs.getObject(7, LocalDateTime.class)));
+        json.writeEndObject();
+    }
+
+    private static void writeCsv(Writer writer, ResultSet rs) throws IOException, SQLException {
+        writer.write(Long.toString(rs.getLong(1)));
+        for (int column = 2; column <= 5; column++) {
+            writer.write(',');
+            writeCsvField(writer, rs.getString(column));
+        }
+        writer.write(',');
+        writeCsvField(writer, toText(rs.getObject(6, LocalDateTime.class)));
+        writer.write(',');
+        writeCsvField(writer, toText(rs.getObject(7, LocalDateTime.class)));
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException { //쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String toText(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+}
@@ -0,0 +1,189 @@
+package com.gyojincompany.home.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.gyojincompany.home.dto.UserImportDto.ImportResponse;
+import com.gyojincompany.home.dto.UserImportDto.ImportRow;
+import com.gyojincompany.home.dto.UserImportDto.RowResult;
+import com.gyojincompany.home.dto.UserImportDto.Status;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.security.BoundedPasswordEncoder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+//관리자 회원 일괄 등록 (테넌트 이전용)
+//-> 회원가입 API를 한 명씩 부르면 existsByEmail 조회 + BCrypt + INSERT 1행이 회원 수만큼 반복되므로
+//   chunk 단위로 1) 요청 안/DB와의 이메일 중복을 IN 조회 한 번으로 걸러내고 2) 비밀번호를 병렬로 해시하고 3) JDBC batch로 한 번에 INSERT
+//-> User.id가 IDENTITY라 Hibernate는 INSERT를 묶지 못하므로 JPA 대신 JdbcTemplate batchUpdate 사용
+//   (MySQL은 rewriteBatchedStatements=true면 여러 행을 INSERT 한 문장으로 보냄, id는 AUTO_INCREMENT가 그대로 채움)
+public class UserImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (email, email_normalized, password, name, role, provider, token_version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserStatistics userStatistics;
+
+    @Value("${admin.import.max-rows:50000}") //요청 하나에 받을 최대 회원 수
+    private int maxRows;
+
+    @Value("${admin.import.chunk-size:1000}") //중복 조회/해시/INSERT를 몇 명씩 묶어서 처리할지
+    private int chunkSize;
+
+    public ImportResponse importUsers(List<ImportRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new RuntimeException("등록할 회원이 없습니다.");
+        }
+        if (rows.size() > maxRows) {
+            throw new RuntimeException("한 번에 최대 " + maxRows + "명까지 등록할 수 있습니다.");
+        }
+
+        RowResult[] results = new RowResult[rows.size()];
+        Set<String> seen = new HashSet<>(); //요청 안에서 이미 나온 이메일 (email_normalized 기준)
+        int created = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            created += importChunk(rows, from, Math.min(from + chunkSize, rows.size()), seen, results);
+        }
+        log.info("회원 일괄 등록 - 요청 {}명, 등록 {}명", rows.size(), created);
+        return new ImportResponse(rows.size(), created, rows.size() - created, List.of(results));
+    }
+
+    private int importChunk(List<ImportRow> rows, int from, int to, Set<String> seen, RowResult[] results) {
+        //1) 형식 검사 + 요청 안 중복 제거
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ImportRow row = rows.get(i);
+            String invalid = validate(row);
+            if (invalid != null) {
+                results[i] = new RowResult(i, row != null ? row.getEmail() : null, Status.INVALID, null, invalid);
+            } else if (!seen.add(normalize(row.getEmail()))) {
+                results[i] = new RowResult(i, row.getEmail(), Status.DUPLICATE_IN_REQUEST, null, null);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        //2) DB에 이미 있는 이메일을 IN 조회 한 번으로 확인
+        Set<String> existing = findExistingEmails(candidates.stream().map(i -> normalize(rows.get(i).getEmail())).toList());
+        List<Integer> inserts = new ArrayList<>();
+        for (int i : candidates) {
+            if (existing.contains(normalize(rows.get(i).getEmail()))) {
+                results[i] = new RowResult(i, rows.get(i).getEmail(), Status.ALREADY_EXISTS, null, null);
+            } else {
+                inserts.add(i);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return 0;
+        }
+
+        //3) 비밀번호를 해시 전용 풀에서 병렬로 해시 (로그인용 몫은 남겨 둠)
+        List<String> hashes = passwordEncoder.encodeAll(inserts.stream().map(i -> rows.get(i).getPassword()).toList());
+
+        //4) JDBC batch INSERT (ON DUPLICATE KEY UPDATE id = id -> 그 사이 다른 요청이 같은 이메일로 가입했어도 chunk 전체가 실패하지 않음
+        //   INSERT IGNORE와 달리 중복 키 외의 오류(컬럼 길이 초과, NOT NULL 등)는 경고로 삼키지 않고 그대로 실패)
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int k) throws SQLException {
+                ImportRow row = rows.get(inserts.get(k));
+                statement.setString(1, row.getEmail().trim());
+                statement.setString(2, normalize(row.getEmail())); //JPA를 거치지 않으므로 @PrePersist 대신 직접 채움
+                statement.setString(3, hashes.get(k));
+                statement.setString(4, row.getName().trim());
+                statement.setString(5, (row.getRole() != null ? row.getRole() : Role.USER).name());
+                statement.setString(6, AuthProvider.LOCAL.name());
+                statement.setTimestamp(7, now);
+                statement.setTimestamp(8, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return inserts.size();
+            }
+        });
+
+        //5) 실제로 들어간 행 확인 -> 저장된 해시가 방금 만든 해시와 같으면 이번 요청으로 등록된 것 (해시마다 salt가 달라 겹치지 않음)
+        Map<String, Object[]> stored = findIdAndPassword(inserts.stream().map(i -> normalize(rows.get(i).getEmail())).toList());
+        int created = 0;
+        long[] createdByRole = new long[Role.values().length];
+        for (int k = 0; k < inserts.size(); k++) {
+            int i = inserts.get(k);
+            Object[] idAndPassword = stored.get(normalize(rows.get(i).getEmail()));
+            if (idAndPassword != null && hashes.get(k).equals(idAndPassword[1])) {
+                results[i] = new RowResult(i, rows.get(i).getEmail(), Status.CREATED, (Long) idAndPassword[0], null);
+                createdByRole[(rows.get(i).getRole() != null ? rows.get(i).getRole() : Role.USER).ordinal()]++;
+                created++;
+            } else {
+                results[i] = new RowResult(i, rows.get(i).getEmail(), Status.ALREADY_EXISTS, null, null);
+            }
+        }
+        for (Role role : Role.values()) {
+            userStatistics.recordImported(role, createdByRole[role.ordinal()]);
+        }
+        return created;
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        Set<String> existing = new HashSet<>();
+        if (!emails.isEmpty()) {
+            namedJdbcTemplate.query("SELECT email_normalized FROM users WHERE email_normalized IN (:emails)",
+                    new MapSqlParameterSource("emails", emails),
+                    rs -> {
+                        existing.add(rs.getString(1));
+                    });
+        }
+        return existing;
+    }
+
+    private Map<String, Object[]> findIdAndPassword(List<String> emails) {
+        Map<String, Object[]> stored = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, email_normalized, password FROM users WHERE email_normalized IN (:emails)",
+                new MapSqlParameterSource("emails", emails),
+                rs -> {
+                    stored.put(rs.getString(2), new Object[] {rs.getLong(1), rs.getString(3)});
+                });
+        return stored;
+    }
+
+    private static String validate(ImportRow row) { //회원가입 API(SignupRequest)와 같은 규칙
+        if (row == null || row.getEmail() == null || row.getEmail().isBlank() || !row.getEmail().contains("@")) {
+            return "잘못된 이메일 형식입니다.";
+        }
+        if (row.getPassword() == null || row.getPassword().length() < 6) {
+            return "비밀번호는 반드시 6자 이상이어야 합니다.";
+        }
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "이름은 필수 입력 항목입니다.";
+        }
+        return null;
+    }
+
+    private static String normalize(String email) {
+        return User.normalizeEmail(email);
+    }
+}
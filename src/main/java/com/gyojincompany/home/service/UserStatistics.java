@@ -0,0 +1,177 @@
+package com.gyojincompany.home.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.repository.UserRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+//관리자 대시보드 회원 통계 (전체 / 권한별 / 가입경로별 회원 수 + 최근 가입 추이)
+//-> 시작할 때 GROUP BY 한 번으로 읽어두고, 이후에는 가입/삭제/권한 변경 때마다 메모리 카운터만 올리고 내림
+//   (대시보드를 열 때마다 COUNT(*)로 테이블 전체를 세지 않음)
+//-> 다른 서버에서 생긴 변경이나 DataInitializer처럼 여기를 거치지 않는 저장은 주기적인 DB 대조로 맞춤
+public class UserStatistics {
+
+    private static final Role[] ROLES = Role.values();
+    private static final AuthProvider[] PROVIDERS = AuthProvider.values();
+    private static final int WINDOW_MINUTES = 60; //최근 가입 추이를 몇 분까지 보관할지
+
+    private final UserRepository userRepository;
+
+    //[role][provider] 회원 수 -> LongAdder는 스레드별로 나눠서 더하므로 동시에 가입이 몰려도 CAS 경합이 없음
+    private final LongAdder[][] counts = new LongAdder[ROLES.length][PROVIDERS.length];
+
+    //분 단위 가입 수 링 버퍼 -> 칸 하나에 (분 번호 << 32 | 그 분의 가입 수)를 long 하나로 담아서 CAS 한 번으로 갱신
+    //-> 새 분이 되면 같은 CAS로 예전 분의 값을 덮어쓰므로 따로 초기화할 필요가 없음
+    private final AtomicLongArray signupsPerMinute = new AtomicLongArray(WINDOW_MINUTES);
+
+    private volatile Instant reconciledAt;
+
+    {
+        for (LongAdder[] row : counts) {
+            for (int p = 0; p < row.length; p++) {
+                row[p] = new LongAdder();
+            }
+        }
+    }
+
+    //처음 읽기는 DataInitializer(CommandLineRunner)가 기본 계정을 만든 뒤에 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${admin.stats.reconcile-interval-ms:300000}", initialDelayString = "${admin.stats.reconcile-interval-ms:300000}")
+    //DB의 권한/가입경로별 회원 수와 메모리 카운터를 맞춤
+    //-> 카운터를 0으로 바꾸지 않고 (DB 값 - 조회 직전 값)만큼 더함 -> 조회하는 동안 들어온 가입/삭제가 사라지지 않음
+    //   (조회 결과에도 이미 포함된 변경이 있으면 잠깐 한 명 정도 어긋날 수 있지만 다음 대조에서 다시 맞춰짐)
+    public synchronized void reconcile() {
+        long[][] before = new long[ROLES.length][PROVIDERS.length];
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int p = 0; p < PROVIDERS.length; p++) {
+                before[r][p] = counts[r][p].sum();
+            }
+        }
+
+        long[][] fromDb = new long[ROLES.length][PROVIDERS.length];
+        for (Object[] row : userRepository.countByRoleAndProvider()) { //[role, provider, count]
+            if (row[0] != null) {
+                fromDb[((Role) row[0]).ordinal()][providerIndex((AuthProvider) row[1])] += (Long) row[2];
+            }
+        }
+
+        long drift = 0;
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int p = 0; p < PROVIDERS.length; p++) {
+                long diff = fromDb[r][p] - before[r][p];
+                if (diff != 0) {
+                    counts[r][p].add(diff);
+                    drift += Math.abs(diff);
+                }
+            }
+        }
+        if (reconciledAt != null && drift > 0) {
+            log.info("회원 통계 DB 대조 - {}명 차이 보정", drift);
+        }
+        reconciledAt = Instant.now();
+    }
+
+    public void recordCreated(Role role, AuthProvider provider) { //회원가입, 소셜 로그인 첫 가입, 일괄 등록
+        AfterCommit.run(() -> {
+            counts[role.ordinal()][providerIndex(provider)].increment();
+            recordSignup(System.currentTimeMillis());
+        });
+    }
+
+    public void recordImported(Role role, long count) { //관리자 일괄 등록 -> 회원 수만 늘리고 가입 추이에는 넣지 않음 (실제 가입이 아니므로)
+        if (count > 0) {
+            AfterCommit.run(() -> counts[role.ordinal()][AuthProvider.LOCAL.ordinal()].add(count));
+        }
+    }
+
+    public void recordDeleted(Role role, AuthProvider provider) {
+        AfterCommit.run(() -> counts[role.ordinal()][providerIndex(provider)].decrement());
+    }
+
+    public void recordRoleChanged(Role from, Role to, AuthProvider provider) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            int p = providerIndex(provider);
+            counts[from.ordinal()][p].decrement();
+            counts[to.ordinal()][p].increment();
+        });
+    }
+
+    public Map<String, Object> getSnapshot() { //대시보드용 -> 카운터 몇 개만 더하므로 회원 수와 상관없이 일정한 시간
+        long total = 0;
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        Map<String, Long> byProvider = new LinkedHashMap<>();
+        for (AuthProvider provider : PROVIDERS) {
+            byProvider.put(provider.name(), 0L);
+        }
+        for (int r = 0; r < ROLES.length; r++) {
+            long roleTotal = 0;
+            for (int p = 0; p < PROVIDERS.length; p++) {
+                long count = counts[r][p].sum();
+                roleTotal += count;
+                byProvider.merge(PROVIDERS[p].name(), count, Long::sum);
+            }
+            byRole.put(ROLES[r].name(), roleTotal);
+            total += roleTotal;
+        }
+
+        long currentMinute = System.currentTimeMillis() / 60_000;
+        List<Long> perMinute = new ArrayList<>(WINDOW_MINUTES); //오래된 분 -> 현재 분 순서
+        long lastHour = 0;
+        for (long minute = currentMinute - WINDOW_MINUTES + 1; minute <= currentMinute; minute++) {
+            long signups = signupsAt(minute);
+            perMinute.add(signups);
+            lastHour += signups;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalUsers", total);
+        result.put("usersByRole", byRole);
+        result.put("usersByProvider", byProvider);
+        result.put("signupsLastMinute", signupsAt(currentMinute));
+        result.put("signupsLastHour", lastHour);
+        result.put("signupsPerMinute", perMinute);
+        result.put("reconciledAt", reconciledAt != null ? reconciledAt.toString() : null);
+        return result;
+    }
+
+    private void recordSignup(long now) {
+        long minute = now / 60_000;
+        int slot = (int) (minute % WINDOW_MINUTES);
+        while (true) {
+            long packed = signupsPerMinute.get(slot);
+            long next = (packed >>> 32) == minute ? packed + 1 : (minute << 32) | 1;
+            if (signupsPerMinute.compareAndSet(slot, packed, next)) {
+                return;
+            }
+        }
+    }
+
+    private long signupsAt(long minute) {
+        long packed = signupsPerMinute.get((int) (minute % WINDOW_MINUTES));
+        return (packed >>> 32) == minute ? packed & 0xFFFFFFFFL : 0; //칸에 다른(예전) 분의 값이 들어 있으면 0
+    }
+
+    private static int providerIndex(AuthProvider provider) { //provider가 비어 있는 예전 회원은 LOCAL로 취급
+        return (provider != null ? provider : AuthProvider.LOCAL).ordinal();
+    }
+}
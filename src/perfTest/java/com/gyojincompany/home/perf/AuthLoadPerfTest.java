@@ -0,0 +1,107 @@
+package com.gyojincompany.home.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.gyojincompany.home.JwtTestProject20251209Application;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//전체 애플리케이션을 H2 메모리 DB(MySQL 모드)로 띄우고 로그인/리프레시/프로필/관리자 회원 목록을 섞어서 호출하는 부하 테스트
+//-> 외부 DB, 구글/네이버 없이 실행 (소셜 로그인은 호출하지 않음)
+//-> API별 처리량, p50/p99/p999를 출력하고 JSON으로 저장, latency-budget.properties 한도를 넘으면 실패
+//-> ./gradlew perfTest 로만 실행 (기본 test에는 포함되지 않음)
+class AuthLoadPerfTest {
+
+	private static final String USER_PASSWORD = "perf-password-1234";
+	private static final String ADMIN_EMAIL = "admin@example.com"; //DataInitializer가 만드는 기본 관리자
+	private static final String ADMIN_PASSWORD = "admin123";
+
+	@Test
+	void mixedTrafficStaysWithinLatencyBudget() throws Exception {
+		LoadSettings settings = LoadSettings.fromSystemProperties();
+		LatencyBudget budget = LatencyBudget.load("latency-budget.properties");
+
+		Map<Endpoint, EndpointResult> results;
+		try (ConfigurableApplicationContext context = start(settings)) {
+			long seedStart = System.nanoTime();
+			String encoded = context.getBean(PasswordEncoder.class).encode(USER_PASSWORD);
+			PerfUsers.seed(context.getBean(JdbcTemplate.class), settings.users(), encoded);
+			System.out.printf("seeded %d users in %d ms%n", settings.users(), (System.nanoTime() - seedStart) / 1_000_000);
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			LoadGenerator generator = new LoadGenerator(settings, "http://localhost:" + port, USER_PASSWORD, ADMIN_EMAIL, ADMIN_PASSWORD);
+			results = generator.run();
+		}
+
+		print(settings, results);
+		writeReport(settings, results);
+
+		List<String> violations = budget.violations(results);
+		assertThat(violations).as("latency budget exceeded").isEmpty();
+	}
+
+	private static void print(LoadSettings settings, Map<Endpoint, EndpointResult> results) {
+		System.out.printf("users %d, concurrency %d, duration %ds, mix %s%n",
+				settings.users(), settings.concurrency(), settings.duration().toSeconds(), settings.mix());
+		System.out.printf("%-12s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+		for (EndpointResult r : results.values()) {
+			System.out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+					r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50Millis(), r.p99Millis(), r.p999Millis());
+		}
+	}
+
+	//커밋끼리 비교할 수 있도록 설정 + 결과를 JSON으로 저장
+	private static void writeReport(LoadSettings settings, Map<Endpoint, EndpointResult> results) throws Exception {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("users", settings.users());
+		report.put("concurrency", settings.concurrency());
+		report.put("durationSeconds", settings.duration().toSeconds());
+		report.put("bcryptStrength", settings.bcryptStrength());
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		settings.mix().forEach((endpoint, weight) -> mix.put(endpoint.key, weight));
+		report.put("mix", mix);
+		report.put("results", results.values());
+
+		File file = new File(settings.reportPath());
+		file.getParentFile().mkdirs();
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+		System.out.println("report: " + file.getAbsolutePath());
+	}
+
+	private static ConfigurableApplicationContext start(LoadSettings settings) {
+		return new SpringApplicationBuilder(JwtTestProject20251209Application.class)
+				.properties(
+						"server.port=0",
+						"management.server.port=-1", //관리 포트는 띄우지 않음
+						"spring.datasource.url=jdbc:h2:mem:perf;MODE=MySQL;DB_CLOSE_DELAY=-1",
+						"spring.datasource.driver-class-name=org.h2.Driver",
+						"spring.datasource.username=sa",
+						"spring.datasource.password=",
+						"spring.datasource.hikari.maximum-pool-size=" + Math.max(20, settings.concurrency() / 2),
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.show-sql=false",
+						"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+						"spring.security.oauth2.client.registration.google.client-id=perf",
+						"spring.security.oauth2.client.registration.google.client-secret=perf",
+						"spring.security.oauth2.client.registration.naver.client-id=perf",
+						"spring.security.oauth2.client.registration.naver.client-secret=perf",
+						"jwt.secret=perf-test-secret-key-perf-test-secret-key-0123456789",
+						"auth.password-hashing.bcrypt.strength=" + settings.bcryptStrength(),
+						"auth.password-hashing.queue-capacity=" + Math.max(64, settings.concurrency()), //동시 로그인이 대기열을 넘어 429가 나지 않도록
+						"auth.login-throttle.enabled=false", //모든 요청이 같은 IP(127.0.0.1)에서 오므로 시도 제한은 끔
+						"logging.level.root=WARN")
+				.run();
+	}
+}
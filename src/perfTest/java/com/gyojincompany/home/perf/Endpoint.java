@@ -0,0 +1,24 @@
+package com.gyojincompany.home.perf;
+
+//부하 테스트에서 섞어서 호출하는 API (이름은 perf.mix, latency-budget.properties의 키로 사용)
+enum Endpoint {
+	LOGIN("login"),             //POST /api/auth/login (BCrypt 비교)
+	REFRESH("refresh"),         //POST /api/auth/refresh (리프레시 토큰 회전)
+	PROFILE("profile"),         //GET /api/user/profile (JWT 필터 + 회원 조회)
+	ADMIN_USERS("admin-users"); //GET /api/admin/users (관리자 회원 목록 커서 페이지)
+
+	final String key;
+
+	Endpoint(String key) {
+		this.key = key;
+	}
+
+	static Endpoint of(String key) {
+		for (Endpoint endpoint : values()) {
+			if (endpoint.key.equals(key)) {
+				return endpoint;
+			}
+		}
+		throw new IllegalArgumentException("알 수 없는 API 이름: " + key);
+	}
+}
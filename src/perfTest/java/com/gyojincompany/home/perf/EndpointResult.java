@@ -0,0 +1,37 @@
+package com.gyojincompany.home.perf;
+
+import java.util.Arrays;
+
+//API 하나의 측정 결과 (지연 시간은 성공한 요청만, ms 단위)
+record EndpointResult(String endpoint, long requests, long errors, double throughput,
+		double p50Millis, double p99Millis, double p999Millis) {
+
+	static EndpointResult of(Endpoint endpoint, long[] latencyNanos, long errors, double seconds) {
+		long[] sorted = latencyNanos.clone();
+		Arrays.sort(sorted);
+		return new EndpointResult(endpoint.key, sorted.length, errors, sorted.length / seconds,
+				percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+	}
+
+	double errorRate() {
+		long total = requests + errors;
+		return total > 0 ? (double) errors / total : 0;
+	}
+
+	double percentileMillis(String name) { //latency-budget.properties의 p50/p99/p999
+		return switch (name) {
+			case "p50" -> p50Millis;
+			case "p99" -> p99Millis;
+			case "p999" -> p999Millis;
+			default -> throw new IllegalArgumentException("알 수 없는 백분위: " + name);
+		};
+	}
+
+	private static double percentile(long[] sorted, double p) { //nearest-rank
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1_000_000.0;
+	}
+}
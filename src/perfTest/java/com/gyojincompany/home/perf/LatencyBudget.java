@@ -0,0 +1,46 @@
+package com.gyojincompany.home.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+//latency-budget.properties에 적어둔 API별 지연 시간/오류율 한도 -> 넘은 항목을 모두 모아서 알려줌
+final class LatencyBudget {
+
+	private final Map<String, Double> limits = new TreeMap<>(); //"profile.p99" -> 최대 ms, "profile.max-error-rate" -> 최대 비율
+
+	static LatencyBudget load(String resource) throws IOException {
+		LatencyBudget budget = new LatencyBudget();
+		try (InputStream in = LatencyBudget.class.getClassLoader().getResourceAsStream(resource)) {
+			if (in == null) {
+				throw new IOException("지연 시간 한도 파일이 없습니다: " + resource);
+			}
+			Properties properties = new Properties();
+			properties.load(in);
+			properties.forEach((key, value) -> budget.limits.put(((String) key).trim(), Double.parseDouble(((String) value).trim())));
+		}
+		return budget;
+	}
+
+	List<String> violations(Map<Endpoint, EndpointResult> results) {
+		List<String> violations = new ArrayList<>();
+		limits.forEach((key, limit) -> {
+			int dot = key.indexOf('.');
+			Endpoint endpoint = Endpoint.of(key.substring(0, dot));
+			String metric = key.substring(dot + 1);
+			EndpointResult result = results.get(endpoint);
+			if (result == null) {
+				return; //perf.mix에서 뺀 API
+			}
+			double actual = metric.equals("max-error-rate") ? result.errorRate() : result.percentileMillis(metric);
+			if (actual > limit) {
+				violations.add(String.format("%s %.3f > %.3f", key, actual, limit));
+			}
+		});
+		return violations;
+	}
+}
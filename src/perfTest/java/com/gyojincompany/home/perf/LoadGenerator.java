@@ -0,0 +1,207 @@
+package com.gyojincompany.home.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+//가상 사용자 concurrency명이 각자 로그인한 뒤 perf.mix 비율대로 API를 쉬지 않고 호출 (closed-loop)
+//-> 사용자마다 자기 access/refresh token을 들고 다님 (리프레시 토큰은 회전되므로 응답의 새 토큰으로 교체)
+//-> 워밍업이 끝난 뒤 시작한 요청만 기록, 기록은 사용자(스레드)별로 따로 모았다가 끝나고 합침 -> 측정 중 스레드 간 경합 없음
+final class LoadGenerator {
+
+	private static final Endpoint[] ENDPOINTS = Endpoint.values();
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final LoadSettings settings;
+	private final String baseUrl;
+	private final String userPassword;
+	private final String adminToken;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final int[] cumulativeWeights = new int[ENDPOINTS.length];
+
+	LoadGenerator(LoadSettings settings, String baseUrl, String userPassword, String adminEmail, String adminPassword) throws Exception {
+		this.settings = settings;
+		this.baseUrl = baseUrl;
+		this.userPassword = userPassword;
+		int total = 0;
+		for (Endpoint endpoint : ENDPOINTS) {
+			total += settings.mix().getOrDefault(endpoint, 0);
+			cumulativeWeights[endpoint.ordinal()] = total;
+		}
+		this.adminToken = login(adminEmail, adminPassword).path("token").asText();
+	}
+
+	Map<Endpoint, EndpointResult> run() throws Exception {
+		long measureStart = System.nanoTime() + settings.warmup().toNanos();
+		long measureEnd = measureStart + settings.duration().toNanos();
+
+		List<Future<Recorder>> futures = new ArrayList<>();
+		try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int u = 0; u < settings.concurrency(); u++) {
+				String email = PerfUsers.email(u % settings.users());
+				futures.add(users.submit(() -> new VirtualUser(email).run(measureStart, measureEnd)));
+			}
+		}
+
+		Recorder merged = new Recorder();
+		for (Future<Recorder> future : futures) {
+			merged.addAll(future.get());
+		}
+		double seconds = settings.duration().toNanos() / 1_000_000_000.0;
+		Map<Endpoint, EndpointResult> results = new EnumMap<>(Endpoint.class);
+		for (Endpoint endpoint : ENDPOINTS) {
+			if (settings.mix().getOrDefault(endpoint, 0) > 0) {
+				results.put(endpoint, EndpointResult.of(endpoint, merged.latencies(endpoint), merged.errors[endpoint.ordinal()], seconds));
+			}
+		}
+		return results;
+	}
+
+	private Endpoint pick() {
+		int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (Endpoint endpoint : ENDPOINTS) {
+			if (roll < cumulativeWeights[endpoint.ordinal()]) {
+				return endpoint;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private JsonNode login(String email, String password) throws Exception {
+		HttpResponse<String> response = post("/api/auth/login", objectMapper.createObjectNode()
+				.put("email", email)
+				.put("password", password));
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("로그인 실패 (" + response.statusCode() + "): " + email);
+		}
+		return objectMapper.readTree(response.body());
+	}
+
+	private HttpResponse<String> post(String path, JsonNode body) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.timeout(REQUEST_TIMEOUT)
+				.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+				.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> get(String path, String token) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Authorization", "Bearer " + token)
+				.timeout(REQUEST_TIMEOUT)
+				.GET()
+				.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	//가상 사용자 한 명 -> 로그인 세션(access/refresh token)을 유지하면서 측정이 끝날 때까지 요청 반복
+	private final class VirtualUser {
+
+		private final String email;
+		private String accessToken;
+		private String refreshToken;
+
+		VirtualUser(String email) {
+			this.email = email;
+		}
+
+		Recorder run(long measureStart, long measureEnd) throws Exception {
+			Recorder recorder = new Recorder();
+			updateTokens(login(email, userPassword));
+			long begin;
+			while ((begin = System.nanoTime()) < measureEnd) {
+				Endpoint endpoint = pick();
+				boolean ok;
+				try {
+					ok = call(endpoint);
+				} catch (Exception e) { //타임아웃, 연결 오류
+					ok = false;
+				}
+				long elapsed = System.nanoTime() - begin;
+				if (begin >= measureStart) {
+					recorder.record(endpoint, elapsed, ok);
+				}
+				if (!ok && endpoint == Endpoint.REFRESH) {
+					updateTokens(login(email, userPassword)); //리프레시 세션이 깨졌으면 다시 로그인해서 이어감 (기록하지 않음)
+				}
+			}
+			return recorder;
+		}
+
+		private boolean call(Endpoint endpoint) throws Exception {
+			return switch (endpoint) {
+				case LOGIN -> {
+					HttpResponse<String> response = post("/api/auth/login", objectMapper.createObjectNode()
+							.put("email", email)
+							.put("password", userPassword));
+					yield response.statusCode() == 200 && updateTokens(objectMapper.readTree(response.body()));
+				}
+				case REFRESH -> {
+					HttpResponse<String> response = post("/api/auth/refresh", objectMapper.createObjectNode()
+							.put("refreshToken", refreshToken));
+					yield response.statusCode() == 200 && updateTokens(objectMapper.readTree(response.body()));
+				}
+				case PROFILE -> get("/api/user/profile", accessToken).statusCode() == 200;
+				case ADMIN_USERS -> get("/api/admin/users?size=50&afterId=" + ThreadLocalRandom.current().nextInt(settings.users()),
+						adminToken).statusCode() == 200;
+			};
+		}
+
+		private boolean updateTokens(JsonNode auth) {
+			accessToken = auth.path("token").asText();
+			refreshToken = auth.path("refreshToken").asText();
+			return true;
+		}
+	}
+
+	//API별 지연 시간(ns) + 오류 수 -> 배열이 차면 두 배로 늘림
+	private static final class Recorder {
+
+		private final long[][] latencies = new long[ENDPOINTS.length][1024];
+		private final int[] counts = new int[ENDPOINTS.length];
+		private final long[] errors = new long[ENDPOINTS.length];
+
+		void record(Endpoint endpoint, long nanos, boolean ok) {
+			int e = endpoint.ordinal();
+			if (!ok) {
+				errors[e]++;
+				return;
+			}
+			if (counts[e] == latencies[e].length) {
+				latencies[e] = Arrays.copyOf(latencies[e], counts[e] * 2);
+			}
+			latencies[e][counts[e]++] = nanos;
+		}
+
+		void addAll(Recorder other) {
+			for (Endpoint endpoint : ENDPOINTS) {
+				long[] values = other.latencies(endpoint);
+				for (long value : values) {
+					record(endpoint, value, true);
+				}
+				errors[endpoint.ordinal()] += other.errors[endpoint.ordinal()];
+			}
+		}
+
+		long[] latencies(Endpoint endpoint) {
+			return Arrays.copyOf(latencies[endpoint.ordinal()], counts[endpoint.ordinal()]);
+		}
+	}
+}
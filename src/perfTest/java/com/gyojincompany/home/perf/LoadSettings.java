@@ -0,0 +1,34 @@
+package com.gyojincompany.home.perf;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+//부하 테스트 설정 -> ./gradlew perfTest -Pperf.<키>=값 으로 바꿈 (build.gradle이 시스템 프로퍼티로 넘겨줌)
+record LoadSettings(int users, int concurrency, Duration warmup, Duration duration, Map<Endpoint, Integer> mix,
+		int bcryptStrength, String reportPath) {
+
+	static LoadSettings fromSystemProperties() {
+		return new LoadSettings(
+				Integer.getInteger("perf.users", 10_000), //미리 넣어둘 회원 수
+				Integer.getInteger("perf.concurrency", 64), //동시에 요청을 보내는 가상 사용자 수
+				Duration.ofSeconds(Long.getLong("perf.warmup-seconds", 15)), //JIT/캐시/커넥션 풀 워밍업 (측정에서 제외)
+				Duration.ofSeconds(Long.getLong("perf.duration-seconds", 30)),
+				parseMix(System.getProperty("perf.mix", "login:1,refresh:1,profile:6,admin-users:2")),
+				Integer.getInteger("perf.bcrypt-strength", 10), //운영 기본값과 같게
+				System.getProperty("perf.report", "build/reports/perf/results.json"));
+	}
+
+	//"login:1,refresh:1,profile:6,admin-users:2" -> API별 호출 비율 (0이면 호출하지 않음)
+	private static Map<Endpoint, Integer> parseMix(String value) {
+		Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+		for (String part : value.split(",")) {
+			String[] pair = part.trim().split(":");
+			mix.put(Endpoint.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+		}
+		if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+			throw new IllegalArgumentException("perf.mix에 호출할 API가 없습니다: " + value);
+		}
+		return mix;
+	}
+}
@@ -0,0 +1,38 @@
+package com.gyojincompany.home.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gyojincompany.home.entity.User;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+//부하 테스트용 회원 N명을 JDBC batch INSERT로 미리 넣어둠 (회원가입 API/BCrypt를 N번 거치지 않음)
+//-> 비밀번호 해시는 한 번만 만들어서 모든 회원이 같이 씀 (로그인 때의 BCrypt 비교 비용은 그대로)
+final class PerfUsers {
+
+	private static final int BATCH_SIZE = 1_000;
+	private static final String INSERT_SQL =
+			"INSERT INTO users (email, email_normalized, password, name, role, provider, token_version, created_at, updated_at) " +
+			"VALUES (?, ?, ?, ?, 'USER', 'LOCAL', 0, ?, ?)";
+
+	private PerfUsers() {
+	}
+
+	static String email(int index) {
+		return "perf-user-" + index + "@example.com";
+	}
+
+	static void seed(JdbcTemplate jdbcTemplate, int count, String encodedPassword) {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		for (int from = 0; from < count; from += BATCH_SIZE) {
+			List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+			for (int i = from; i < Math.min(count, from + BATCH_SIZE); i++) {
+				String email = email(i);
+				rows.add(new Object[] {email, User.normalizeEmail(email), encodedPassword, "perf-user-" + i, now, now});
+			}
+			jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.gyojincompany.home;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.repository.UserRepository;
+import com.gyojincompany.home.security.JwtUtil;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//플랫폼 스레드(Tomcat 기본 200개 풀) 모드와 가상 스레드 모드의 처리량/p99 비교
+//-> 요청마다 JWT 필터의 DB 조회 + 외부 API 호출을 흉내 낸 대기(BLOCKING_MILLIS)가 있는 경로를 동시에 많이 호출
+//-> 시간이 오래 걸리므로 기본 test에서는 제외하고 ./gradlew loadTest 로만 실행 (H2 메모리 DB 사용)
+@Tag("load")
+class VirtualThreadLoadTest {
+
+	private static final int CONCURRENCY = 800;
+	private static final int WARMUP_REQUESTS = 2_000;
+	private static final int REQUESTS = 20_000;
+	private static final long BLOCKING_MILLIS = 50; //구글/네이버 사용자 정보 API 같은 외부 호출 대기 시간
+
+	private record Result(double throughput, double p99Millis, int failures) {}
+
+	@Test
+	void virtualThreadsSustainMoreBlockingRequestsThanPlatformPool() throws Exception {
+		Result platform = run(false);
+		Result virtual = run(true);
+
+		System.out.printf("platform threads: %.0f req/s, p99 %.1f ms, failures %d%n", platform.throughput(), platform.p99Millis(), platform.failures());
+		System.out.printf("virtual threads : %.0f req/s, p99 %.1f ms, failures %d%n", virtual.throughput(), virtual.p99Millis(), virtual.failures());
+
+		assertThat(platform.failures()).isZero();
+		assertThat(virtual.failures()).isZero();
+		//동시 요청 수가 Tomcat 스레드 수보다 많으므로 가상 스레드 모드가 더 많이 처리해야 함
+		assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+	}
+
+	private Result run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = start(virtualThreads)) {
+			UserRepository userRepository = context.getBean(UserRepository.class);
+			User user = userRepository.save(User.builder()
+					.email("load@example.com")
+					.password("{noop}unused")
+					.name("load")
+					.role(Role.USER)
+					.provider(AuthProvider.LOCAL)
+					.build());
+			String token = context.getBean(JwtUtil.class).generateToken(user);
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+			HttpClient client = HttpClient.newBuilder()
+					.executor(Executors.newVirtualThreadPerTaskExecutor())
+					.connectTimeout(Duration.ofSeconds(5))
+					.build();
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/user/load-probe"))
+					.header("Authorization", "Bearer " + token)
+					.timeout(Duration.ofSeconds(60))
+					.GET()
+					.build();
+
+			fire(client, request, WARMUP_REQUESTS, new long[WARMUP_REQUESTS]);
+
+			long[] latencies = new long[REQUESTS];
+			long start = System.nanoTime();
+			int failures = fire(client, request, REQUESTS, latencies);
+			long elapsed = System.nanoTime() - start;
+
+			Arrays.sort(latencies);
+			double p99 = latencies[(int) (REQUESTS * 0.99) - 1] / 1_000_000.0;
+			return new Result(REQUESTS * 1_000_000_000.0 / elapsed, p99, failures);
+		}
+	}
+
+	//CONCURRENCY개의 클라이언트가 각자 차례대로 요청을 보내서 총 count개 요청 -> 실패(200이 아닌 응답) 수 반환
+	private int fire(HttpClient client, HttpRequest request, int count, long[] latencies) throws Exception {
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger failures = new AtomicInteger();
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int c = 0; c < CONCURRENCY; c++) {
+				futures.add(workers.submit(() -> {
+					int i;
+					while ((i = next.getAndIncrement()) < count) {
+						long begin = System.nanoTime();
+						try {
+							if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+								failures.incrementAndGet();
+							}
+						} catch (Exception e) {
+							failures.incrementAndGet();
+						}
+						latencies[i] = System.nanoTime() - begin;
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		return failures.get();
+	}
+
+	private ConfigurableApplicationContext start(boolean virtualThreads) {
+		return new SpringApplicationBuilder(JwtTestProject20251209Application.class)
+				.initializers(context -> ((GenericApplicationContext) context).registerBean("loadProbeRoute", RouterFunction.class,
+						() -> RouterFunctions.route()
+								.GET("/api/user/load-probe", request -> {
+									Thread.sleep(BLOCKING_MILLIS);
+									return ServerResponse.ok().body("ok");
+								})
+								.build()))
+				.properties(
+						"spring.threads.virtual.enabled=" + virtualThreads,
+						"server.port=0",
+						"management.server.port=-1",
+						"spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+						"spring.datasource.driver-class-name=org.h2.Driver",
+						"spring.datasource.username=sa",
+						"spring.datasource.password=",
+						"spring.datasource.hikari.maximum-pool-size=20",
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.show-sql=false",
+						"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+						"spring.security.oauth2.client.registration.google.client-id=load",
+						"spring.security.oauth2.client.registration.google.client-secret=load",
+						"spring.security.oauth2.client.registration.naver.client-id=load",
+						"spring.security.oauth2.client.registration.naver.client-secret=load",
+						"jwt.secret=load-test-secret-key-load-test-secret-key-0123456789",
+						"auth.user-cache.enabled=false", //요청마다 DB 조회까지 포함해서 측정
+						"logging.level.root=WARN")
+				.run();
+	}
+}
@@ -0,0 +1,80 @@
+package com.gyojincompany.home.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.gyojincompany.home.service.UserExportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+//회원 내보내기가 Accept-Encoding의 gzip q 값을 지키는지 확인 (gzip;q=0, x-gzip이면 압축하지 않음)
+class AdminControllerExportTest {
+
+	private static final String BODY = "{\"id\":1}\n";
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		UserExportService userExportService = mock(UserExportService.class);
+		doAnswer(invocation -> {
+			invocation.getArgument(0, OutputStream.class).write(BODY.getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(userExportService).export(any(), any(), anyLong());
+		mockMvc = MockMvcBuilders.standaloneSetup(
+				new AdminController(null, null, null, null, null, null, userExportService, null, null)).build();
+	}
+
+	@Test
+	void gzipIsUsedWhenAccepted() throws Exception {
+		MvcResult result = export("gzip, deflate, br");
+
+		assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+		}
+	}
+
+	@Test
+	void gzipWithZeroQualityIsNotUsed() throws Exception {
+		MvcResult result = export("gzip;q=0, identity");
+
+		assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+	}
+
+	@Test
+	void acceptEncodingParsing() {
+		assertThat(AdminController.acceptsGzip(null)).isFalse();
+		assertThat(AdminController.acceptsGzip("GZIP")).isTrue();
+		assertThat(AdminController.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+		assertThat(AdminController.acceptsGzip("gzip; q=0.000")).isFalse();
+		assertThat(AdminController.acceptsGzip("x-gzip")).isFalse(); //다른 coding 이름
+		assertThat(AdminController.acceptsGzip("*")).isTrue();
+		assertThat(AdminController.acceptsGzip("*;q=0")).isFalse();
+		assertThat(AdminController.acceptsGzip("gzip;q=0, *")).isFalse(); //직접 적은 gzip이 * 보다 우선
+	}
+
+	private MvcResult export(String acceptEncoding) throws Exception {
+		MvcResult started = mockMvc.perform(get("/api/admin/users/export").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+				.andExpect(request().asyncStarted()) //StreamingResponseBody -> 비동기로 본문을 씀
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(started)).andReturn();
+	}
+}
@@ -0,0 +1,90 @@
+package com.gyojincompany.home.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.gyojincompany.home.dto.UserSummary;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//관리자 회원 목록이 size를 1~500으로 자르고, 페이지가 가득 찼을 때만 다음 afterId를 X-Next-Cursor로 알려주는지 확인
+class AdminControllerUserListTest {
+
+	private UserRepository userRepository;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(
+				new AdminController(userRepository, null, null, null, null, null, null, null, null)).build();
+	}
+
+	@Test
+	void fullPageReturnsNextCursor() throws Exception {
+		when(userRepository.findSummaries(10L, null, null, Limit.of(3))).thenReturn(summaries(11, 12, 13));
+
+		mockMvc.perform(get("/api/admin/users").param("afterId", "10").param("size", "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(header().string("X-Next-Cursor", "13"));
+	}
+
+	@Test
+	void shortPageHasNoNextCursor() throws Exception {
+		when(userRepository.findSummaries(10L, null, null, Limit.of(3))).thenReturn(summaries(11, 12));
+
+		mockMvc.perform(get("/api/admin/users").param("afterId", "10").param("size", "3"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("X-Next-Cursor")); //마지막 페이지
+	}
+
+	@Test
+	void pageSizeIsClamped() throws Exception {
+		when(userRepository.findSummaries(anyLong(), any(), any(), any())).thenReturn(List.of());
+
+		mockMvc.perform(get("/api/admin/users").param("size", "100000")).andExpect(status().isOk());
+		verify(userRepository).findSummaries(0L, null, null, Limit.of(500)); //상한
+
+		mockMvc.perform(get("/api/admin/users").param("size", "0")).andExpect(status().isOk());
+		verify(userRepository).findSummaries(0L, null, null, Limit.of(1)); //하한
+
+		mockMvc.perform(get("/api/admin/users")).andExpect(status().isOk());
+		verify(userRepository).findSummaries(0L, null, null, Limit.of(50)); //기본값
+	}
+
+	@Test
+	void roleAndProviderArePassedToQuery() throws Exception {
+		when(userRepository.findSummaries(anyLong(), any(), any(), any())).thenReturn(List.of());
+
+		mockMvc.perform(get("/api/admin/users").param("role", "ADMIN").param("provider", "GOOGLE"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("X-Next-Cursor"));
+		verify(userRepository).findSummaries(eq(0L), eq(Role.ADMIN), eq(AuthProvider.GOOGLE), eq(Limit.of(50)));
+	}
+
+	private static List<UserSummary> summaries(long... ids) {
+		return LongStream.of(ids)
+				.mapToObj(id -> new UserSummary(id, "user" + id + "@example.com", "user" + id, Role.USER, AuthProvider.LOCAL, LocalDateTime.now()))
+				.toList();
+	}
+}
@@ -0,0 +1,88 @@
+package com.gyojincompany.home.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import com.gyojincompany.home.dto.UserSummary;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//관리자 회원 목록의 id 커서 페이지 조회(findSummaries) -> afterId 다음부터, Limit개까지, role/provider 조건이 맞는지 확인 (H2 메모리 DB)
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class UserRepositoryTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final List<Long> ids = new ArrayList<>(); //저장 순서 = id 순서
+
+	@BeforeEach
+	void setUp() {
+		save("a@example.com", Role.USER, AuthProvider.LOCAL, null);
+		save("b@example.com", Role.ADMIN, AuthProvider.LOCAL, null);
+		save("c@example.com", Role.USER, AuthProvider.GOOGLE, "google-c");
+		save("d@example.com", Role.USER, AuthProvider.NAVER, "naver-d");
+		save("e@example.com", Role.ADMIN, AuthProvider.GOOGLE, "google-e");
+	}
+
+	@Test
+	void pagesFollowIdCursorWithoutGapsOrDuplicates() {
+		List<Long> seen = new ArrayList<>();
+		long afterId = 0;
+		List<UserSummary> page;
+		do {
+			page = userRepository.findSummaries(afterId, null, null, Limit.of(2));
+			assertThat(page.size()).isLessThanOrEqualTo(2);
+			page.forEach(user -> seen.add(user.id()));
+			if (!page.isEmpty()) {
+				afterId = page.get(page.size() - 1).id(); //다음 요청의 afterId (X-Next-Cursor)
+			}
+		} while (page.size() == 2);
+
+		assertThat(seen).containsExactlyElementsOf(ids);
+	}
+
+	@Test
+	void afterIdIsExclusive() {
+		List<UserSummary> page = userRepository.findSummaries(ids.get(2), null, null, Limit.of(10));
+
+		assertThat(page).extracting(UserSummary::id).containsExactly(ids.get(3), ids.get(4));
+		assertThat(userRepository.findSummaries(ids.get(4), null, null, Limit.of(10))).isEmpty(); //마지막 id 다음은 빈 페이지
+	}
+
+	@Test
+	void roleAndProviderFilters() {
+		assertThat(userRepository.findSummaries(0, Role.ADMIN, null, Limit.of(10)))
+				.extracting(UserSummary::email).containsExactly("b@example.com", "e@example.com");
+		assertThat(userRepository.findSummaries(0, null, AuthProvider.GOOGLE, Limit.of(10)))
+				.extracting(UserSummary::email).containsExactly("c@example.com", "e@example.com");
+		assertThat(userRepository.findSummaries(0, Role.USER, AuthProvider.GOOGLE, Limit.of(10)))
+				.extracting(UserSummary::email).containsExactly("c@example.com");
+		assertThat(userRepository.findSummaries(ids.get(1), Role.ADMIN, null, Limit.of(10))) //조건 + 커서
+				.extracting(UserSummary::email).containsExactly("e@example.com");
+	}
+
+	private void save(String email, Role role, AuthProvider provider, String providerId) {
+		ids.add(userRepository.save(User.builder()
+				.email(email)
+				.password("{noop}unused")
+				.name(email)
+				.role(role)
+				.provider(provider)
+				.providerId(providerId)
+				.build()).getId());
+	}
+}
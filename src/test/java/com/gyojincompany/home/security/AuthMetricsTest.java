@@ -0,0 +1,74 @@
+package com.gyojincompany.home.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+
+import com.gyojincompany.home.entity.AuthProvider;
+
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//인증 단계 Timer의 태그(outcome/reason/provider)가 맞게 붙는지 확인 (기록 비용은 src/jmh의 AuthMetricsBenchmark)
+class AuthMetricsTest {
+
+	private SimpleMeterRegistry registry;
+	private AuthMetrics authMetrics;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		authMetrics = new AuthMetrics(registry);
+	}
+
+	@Test
+	void successTimersArePreRegistered() {
+		assertThat(timer("auth.jwt.verify", "success", "none")).isNotNull(); //요청 전에도 0으로 노출
+		assertThat(timer("auth.login", "success", "none").count()).isZero();
+	}
+
+	@Test
+	void failuresAreTaggedByReason() {
+		assertThatThrownBy(() -> authMetrics.time(AuthMetrics.Stage.JWT_VERIFY, null, () -> {
+			throw new ExpiredJwtException(null, null, "expired");
+		})).isInstanceOf(ExpiredJwtException.class);
+		assertThatThrownBy(() -> authMetrics.time(AuthMetrics.Stage.PASSWORD_MATCH, null, () -> {
+			throw new BadCredentialsException("bad");
+		})).isInstanceOf(BadCredentialsException.class);
+
+		assertThat(timer("auth.jwt.verify", "failure", "expired").count()).isEqualTo(1);
+		assertThat(timer("auth.password.match", "failure", "bad_credentials").count()).isEqualTo(1);
+		assertThat(timer("auth.jwt.verify", "success", "none").count()).isZero();
+	}
+
+	@Test
+	void oauth2FailuresCarryProviderAndReason() {
+		AuthProvider naver = AuthMetrics.providerOf("naver");
+		assertThatThrownBy(() -> authMetrics.time(AuthMetrics.Stage.OAUTH2_USER_INFO, naver, () -> {
+			throw new OAuth2AuthenticationException(new OAuth2Error("invalid_user_info_response"), "read timed out",
+					new SocketTimeoutException("Read timed out")); //공급자 응답 지연 -> 스프링이 OAuth2 예외로 감싸서 던짐
+		})).isInstanceOf(OAuth2AuthenticationException.class);
+		assertThatThrownBy(() -> authMetrics.time(AuthMetrics.Stage.OAUTH2_LOGIN, naver, () -> {
+			throw new OAuth2AuthenticationException(new OAuth2Error("email_conflict"), "conflict");
+		})).isInstanceOf(OAuth2AuthenticationException.class);
+		assertThatThrownBy(() -> authMetrics.time(AuthMetrics.Stage.OAUTH2_TOKEN, naver, () -> {
+			throw new OAuth2AuthenticationException(new OAuth2Error("invalid_token_response"), "500");
+		})).isInstanceOf(OAuth2AuthenticationException.class);
+
+		assertThat(registry.get("auth.oauth2.user_info").tags("provider", "naver", "reason", "timeout").timer().count()).isEqualTo(1);
+		assertThat(registry.get("auth.oauth2.login").tags("provider", "naver", "reason", "email_conflict").timer().count()).isEqualTo(1);
+		assertThat(registry.get("auth.oauth2.token").tags("provider", "naver", "reason", "provider_error").timer().count()).isEqualTo(1);
+		assertThat(AuthMetrics.providerOf("unknown")).isNull();
+	}
+
+	private Timer timer(String name, String outcome, String reason) {
+		return registry.get(name).tags("outcome", outcome, "reason", reason).timer();
+	}
+}
@@ -0,0 +1,125 @@
+package com.gyojincompany.home.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.gyojincompany.home.controller.UserController;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//JWT 필터가 Access Token만 인증에 쓰고, 리프레시 토큰(typ=refresh)이나 권한 변경/삭제 이전에 발급된 토큰은 거부하는지 확인
+class JwtAuthenticationFilterTest {
+
+	private static final String SECRET = "filter-test-secret-key-filter-test-secret-key-0123";
+
+	private JwtUtil jwtUtil;
+	private TokenEpochRegistry tokenEpochs;
+	private User user;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil(new JwtKeyStore()); //jwt.keys.dir 미설정 -> HMAC 모드
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+		ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+		ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true); //운영 기본값 -> DB 조회 모드는 전용 HMAC 검증기 사용
+		jwtUtil.init();
+
+		user = User.builder()
+				.id(1L)
+				.email("user@example.com")
+				.emailNormalized("user@example.com")
+				.password("")
+				.name("사용자")
+				.role(Role.USER)
+				.provider(AuthProvider.LOCAL)
+				.createdAt(LocalDateTime.now())
+				.build();
+
+		tokenEpochs = new TokenEpochRegistry(null, null);
+		ReflectionTestUtils.setField(tokenEpochs, "accessTokenExpiration", 86400000L);
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, username -> user,
+				tokenEpochs, new AuthMetrics(new SimpleMeterRegistry()));
+		//SecurityConfig의 anyRequest().authenticated()와 같은 역할 -> 인증되지 않은 요청은 401
+		Filter requireAuthentication = (request, response, chain) -> {
+			if (SecurityContextHolder.getContext().getAuthentication() == null) {
+				((HttpServletResponse) response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+				return;
+			}
+			chain.doFilter(request, response);
+		};
+		mockMvc = MockMvcBuilders.standaloneSetup(new UserController(null))
+				.setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+				.addFilters(filter, requireAuthentication)
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void accessTokenAuthenticatesProfileRequest() throws Exception {
+		mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + jwtUtil.generateToken(user)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.email").value("user@example.com"));
+	}
+
+	@Test
+	void refreshTokenIsRejectedAsBearerToken() throws Exception {
+		String refreshToken = jwtUtil.generateRefreshToken(user, "family-1", 0);
+
+		mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + refreshToken))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void tokenIssuedBeforeRoleChangeIsRejected() throws Exception {
+		String oldToken = jwtUtil.generateToken(user); //ver 0
+		user.setTokenVersion(1); //권한 변경 -> UPDATE로 세대 1 증가
+		tokenEpochs.update(user.getId(), 1); //커밋 직후 afterCommit에서 반영
+
+		mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + oldToken))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + jwtUtil.generateToken(user)))
+				.andExpect(status().isOk()); //다시 로그인해서 받은 새 토큰은 통과
+	}
+
+	@Test
+	void tokenOfDeletedUserIsRejected() throws Exception {
+		String token = jwtUtil.generateToken(user);
+		tokenEpochs.markDeleted(List.of(user.getId()));
+
+		mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + token))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void refreshTokenKeepsTypeClaimOnFastPath() {
+		String refreshToken = jwtUtil.generateRefreshToken(user, "family-1", 0);
+
+		//전용 검증기는 typ를 보면 jjwt로 넘기므로 필터가 받는 토큰에 typ가 남아 있어야 함
+		VerifiedToken verified = jwtUtil.verifyTokenFast(refreshToken);
+		assertThat(verified.getClaim(JwtUtil.CLAIM_TOKEN_TYPE, String.class)).isEqualTo(JwtUtil.TOKEN_TYPE_REFRESH);
+	}
+}
@@ -0,0 +1,74 @@
+package com.gyojincompany.home.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//캐시한 서명키/파서, 빠른 검증 경로가 기존 jjwt 방식과 같은 결과를 내는지 확인 (요청당 비용 비교는 src/jmh의 JwtBenchmark)
+class JwtUtilTest {
+
+	private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+	private JwtUtil jwtUtil;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil(new JwtKeyStore()); //jwt.keys.dir 미설정 -> HMAC 모드
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+		ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+		jwtUtil.init();
+
+		UserDetails user = User.withUsername("bench@example.com").password("").authorities(Collections.emptyList()).build();
+		token = jwtUtil.generateToken(user);
+	}
+
+	@Test
+	void cachedParserMatchesPerRequestKeyDerivation() {
+		assertThat(jwtUtil.extractUsername(token)).isEqualTo(parseLegacy(token));
+	}
+
+	@Test
+	void updateSecretRebuildsKeyMaterial() {
+		jwtUtil.updateSecret(SECRET + "-rotated");
+		UserDetails user = User.withUsername("rotated@example.com").password("").authorities(Collections.emptyList()).build();
+
+		assertThat(jwtUtil.extractUsername(jwtUtil.generateToken(user))).isEqualTo("rotated@example.com");
+	}
+
+	@Test
+	void fastPathMatchesJjwtAndRejectsTamperedSignature() {
+		ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true);
+
+		VerifiedToken fast = jwtUtil.verifyTokenFast(token);
+		VerifiedToken full = jwtUtil.verifyToken(token);
+		assertThat(fast.getSubject()).isEqualTo(full.getSubject());
+		assertThat(fast.getExpiresAtMillis()).isEqualTo(full.getExpiresAtMillis());
+
+		char last = token.charAt(token.length() - 2);
+		String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+		assertThatThrownBy(() -> jwtUtil.verifyTokenFast(tampered)).isInstanceOf(JwtException.class);
+	}
+
+	private String parseLegacy(String jwt) { //변경 전 JwtUtil과 동일하게 요청마다 키와 파서를 새로 만드는 방식
+		Claims claims = Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(jwt)
+				.getPayload();
+		return claims.getSubject();
+	}
+}
@@ -0,0 +1,122 @@
+package com.gyojincompany.home.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gyojincompany.home.exception.TooManyRequestsException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//로그인 시도 제한(GCRA)이 capacity번까지 연속 허용하고, period마다 1번씩 다시 채워지며, 잠금 해제/로그인 성공 시 초기화되는지 확인
+//-> 시간은 acquire(email, ip, now)로 직접 넘겨서 sleep 없이 확인
+class LoginThrottleTest {
+
+	private static final long EMAIL_PERIOD = 60_000;
+	private static final long T0 = 1_000_000_000L;
+
+	private LoginThrottle throttle;
+
+	@BeforeEach
+	void setUp() {
+		throttle = new LoginThrottle();
+		ReflectionTestUtils.setField(throttle, "enabled", true);
+		ReflectionTestUtils.setField(throttle, "emailCapacity", 3);
+		ReflectionTestUtils.setField(throttle, "emailRefillPeriodMillis", EMAIL_PERIOD);
+		ReflectionTestUtils.setField(throttle, "ipCapacity", 5);
+		ReflectionTestUtils.setField(throttle, "ipRefillPeriodMillis", 1_000L);
+		ReflectionTestUtils.setField(throttle, "maxKeys", 1_000L);
+		throttle.init();
+	}
+
+	@Test
+	void burstUpToCapacityThenLocked() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user@example.com", null, T0);
+		}
+
+		assertThatThrownBy(() -> throttle.acquire("user@example.com", null, T0))
+				.isInstanceOf(TooManyRequestsException.class)
+				.extracting("retryAfterSeconds").isEqualTo(60L); //토큰 1개가 다시 생길 때까지
+		assertThatCode(() -> throttle.acquire("other@example.com", null, T0)).doesNotThrowAnyException(); //다른 계정은 영향 없음
+	}
+
+	@Test
+	void oneAttemptRefillsPerPeriod() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user@example.com", null, T0);
+		}
+
+		assertThatThrownBy(() -> throttle.acquire("user@example.com", null, T0 + EMAIL_PERIOD - 1))
+				.extracting("retryAfterSeconds").isEqualTo(1L); //남은 1ms도 1초로 올림
+		throttle.acquire("user@example.com", null, T0 + EMAIL_PERIOD); //1번만 다시 생김
+		assertThatThrownBy(() -> throttle.acquire("user@example.com", null, T0 + EMAIL_PERIOD))
+				.isInstanceOf(TooManyRequestsException.class);
+	}
+
+	@Test
+	void idleForCapacityPeriodsRestoresFullBurst() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user@example.com", null, T0);
+		}
+
+		long later = T0 + 3 * EMAIL_PERIOD;
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user@example.com", null, later);
+		}
+		assertThatThrownBy(() -> throttle.acquire("user@example.com", null, later)).isInstanceOf(TooManyRequestsException.class);
+	}
+
+	@Test
+	void emailIsNormalizedBeforeCounting() {
+		throttle.acquire("User@Example.com", null, T0);
+		throttle.acquire(" user@example.com ", null, T0);
+		throttle.acquire("USER@EXAMPLE.COM", null, T0);
+
+		assertThatThrownBy(() -> throttle.acquire("user@example.com", null, T0)).isInstanceOf(TooManyRequestsException.class);
+	}
+
+	@Test
+	void clientIpIsLimitedAcrossAccounts() {
+		for (int i = 0; i < 5; i++) {
+			throttle.acquire("user" + i + "@example.com", "10.0.0.1", T0); //계정을 바꿔가며 대입
+		}
+
+		assertThatThrownBy(() -> throttle.acquire("user5@example.com", "10.0.0.1", T0)).isInstanceOf(TooManyRequestsException.class);
+		assertThatCode(() -> throttle.acquire("user5@example.com", "10.0.0.2", T0)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void successfulLoginResetsEmailBucket() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user@example.com", null, T0);
+		}
+
+		throttle.onSuccess("user@example.com");
+
+		assertThatCode(() -> throttle.acquire("user@example.com", null, T0)).doesNotThrowAnyException();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void lockoutIsListedAndCanBeUnlocked() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user@example.com", "10.0.0.1");
+		}
+		assertThatThrownBy(() -> throttle.acquire("user@example.com", "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+
+		Map<String, Object> status = throttle.getStatus();
+		assertThat((List<Map<String, Object>>) status.get("lockedEmails"))
+				.extracting(entry -> entry.get("key")).containsExactly("user@example.com");
+		assertThat(status.get("rejectedByEmail")).isEqualTo(1L);
+
+		assertThat(throttle.unlock("User@example.com", null)).isTrue();
+		assertThatCode(() -> throttle.acquire("user@example.com", "10.0.0.1")).doesNotThrowAnyException();
+		assertThat(throttle.unlock("unknown@example.com", "10.0.0.9")).isFalse(); //추적 중인 버킷이 없음
+	}
+}
@@ -0,0 +1,94 @@
+package com.gyojincompany.home.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gyojincompany.home.repository.DeletedUserRepository;
+import com.gyojincompany.home.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//권한 변경/삭제로 올린 토큰 세대가 주기적인 reload()와 겹쳐도 되돌아가지 않는지, 삭제 표시가 서버 간에 공유되는지 확인
+class TokenEpochRegistryTest {
+
+	private UserRepository userRepository;
+	private DeletedUserRepository deletedUserRepository;
+	private TokenEpochRegistry registry;
+	private final List<Object[]> tokenVersions = new ArrayList<>(); //DB의 [id, tokenVersion]
+	private final List<Long> deletedUserIds = new ArrayList<>(); //deleted_users에서 아직 유효한 회원
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		deletedUserRepository = mock(DeletedUserRepository.class);
+		when(userRepository.findNonZeroTokenVersions()).thenAnswer(invocation -> new ArrayList<>(tokenVersions));
+		when(deletedUserRepository.findActiveUserIds(any())).thenAnswer(invocation -> new ArrayList<>(deletedUserIds));
+		registry = new TokenEpochRegistry(userRepository, deletedUserRepository);
+		ReflectionTestUtils.setField(registry, "accessTokenExpiration", 86400000L);
+	}
+
+	@Test
+	void reloadAppliesVersionsFromDb() {
+		tokenVersions.add(new Object[] {7L, 2L}); //다른 서버에서 권한 변경
+
+		registry.reload();
+
+		assertThat(registry.isCurrent(7L, 1)).isFalse();
+		assertThat(registry.isCurrent(7L, 2)).isTrue();
+		assertThat(registry.isCurrent(8L, 0)).isTrue(); //세대가 0인 회원은 보관하지 않음
+	}
+
+	@Test
+	void updateDuringReloadIsNotOverwrittenByStaleSnapshot() {
+		tokenVersions.add(new Object[] {7L, 1L});
+		registry.reload();
+
+		//reload가 DB에서 예전 값(1)을 읽은 직후, 락을 잡기 전에 권한 변경 afterCommit의 update(7, 2)가 끼어듦
+		when(userRepository.findNonZeroTokenVersions()).thenAnswer(invocation -> {
+			List<Object[]> snapshot = new ArrayList<>(tokenVersions);
+			registry.update(7L, 2L);
+			return snapshot;
+		});
+		registry.reload();
+
+		assertThat(registry.isCurrent(7L, 1)).isFalse(); //이전 권한이 담긴 토큰은 계속 거부
+		assertThat(registry.isCurrent(7L, 2)).isTrue();
+	}
+
+	@Test
+	void olderUpdateDoesNotLowerVersion() {
+		registry.update(7L, 3L);
+		registry.update(7L, 2L); //늦게 도착한 예전 변경
+
+		assertThat(registry.isCurrent(7L, 2)).isFalse();
+		assertThat(registry.isCurrent(7L, 3)).isTrue();
+	}
+
+	@Test
+	void deletedUsersAreRejectedAcrossReloads() {
+		registry.markDeleted(List.of(5L)); //이 서버에서 삭제 (커밋 직후)
+		deletedUserIds.add(6L); //다른 서버에서 삭제 -> deleted_users로 전달
+
+		registry.reload();
+
+		assertThat(registry.isCurrent(5L, Long.MAX_VALUE - 1)).isFalse();
+		assertThat(registry.isCurrent(6L, 0)).isFalse();
+	}
+
+	@Test
+	void expiredDeletionMarkIsDroppedOnReload() {
+		ReflectionTestUtils.setField(registry, "accessTokenExpiration", -1L); //삭제 표시를 바로 만료시킴
+		registry.markDeleted(List.of(5L));
+
+		registry.reload();
+
+		assertThat(registry.isCurrent(5L, 0)).isTrue(); //그 회원의 Access Token은 이미 모두 만료된 시점
+	}
+}
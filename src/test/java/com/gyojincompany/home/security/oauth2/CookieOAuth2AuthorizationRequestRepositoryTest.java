@@ -0,0 +1,119 @@
+package com.gyojincompany.home.security.oauth2;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//인가 요청 쿠키가 다른 서버에서도 그대로 풀리는지, 위변조/만료/state 불일치면 null인지 확인
+class CookieOAuth2AuthorizationRequestRepositoryTest {
+
+	private static final String COOKIE_NAME = "oauth2_auth_request";
+	private static final String STATE = "state-0123456789";
+
+	private CookieOAuth2AuthorizationRequestRepository repository;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		repository = newRepository(180);
+	}
+
+	@Test
+	void roundTripKeepsAllFields() throws Exception {
+		OAuth2AuthorizationRequest original = authorizationRequest();
+		String cookie = save(repository, original);
+
+		//같은 secret을 쓰는 다른 서버 인스턴스에서 콜백을 처리
+		OAuth2AuthorizationRequest loaded = newRepository(180).loadAuthorizationRequest(callback(cookie, STATE));
+
+		assertThat(loaded).isNotNull();
+		assertThat(loaded.getAuthorizationUri()).isEqualTo(original.getAuthorizationUri());
+		assertThat(loaded.getClientId()).isEqualTo(original.getClientId());
+		assertThat(loaded.getRedirectUri()).isEqualTo(original.getRedirectUri());
+		assertThat(loaded.getScopes()).containsExactlyInAnyOrderElementsOf(original.getScopes());
+		assertThat(loaded.getState()).isEqualTo(STATE);
+		assertThat(loaded.getAdditionalParameters()).isEqualTo(original.getAdditionalParameters());
+		assertThat(loaded.getAttributes()).isEqualTo(original.getAttributes());
+		assertThat(loaded.getAuthorizationRequestUri()).isEqualTo(original.getAuthorizationRequestUri());
+	}
+
+	@Test
+	void tamperedCookieIsIgnored() {
+		String cookie = save(repository, authorizationRequest());
+		int middle = cookie.length() / 2;
+		String tampered = cookie.substring(0, middle) + (cookie.charAt(middle) == 'A' ? 'B' : 'A') + cookie.substring(middle + 1);
+
+		assertThat(repository.loadAuthorizationRequest(callback(tampered, STATE))).isNull();
+	}
+
+	@Test
+	void expiredCookieIsIgnored() throws Exception {
+		CookieOAuth2AuthorizationRequestRepository expired = newRepository(-1); //저장하는 순간 이미 만료시각이 지남
+		String cookie = save(expired, authorizationRequest());
+
+		assertThat(expired.loadAuthorizationRequest(callback(cookie, STATE))).isNull();
+	}
+
+	@Test
+	void stateMismatchIsIgnored() {
+		String cookie = save(repository, authorizationRequest());
+
+		assertThat(repository.loadAuthorizationRequest(callback(cookie, "other-state"))).isNull();
+		assertThat(repository.loadAuthorizationRequest(callback(cookie, null))).isNull();
+	}
+
+	@Test
+	void removeDeletesCookieAfterUse() {
+		String cookie = save(repository, authorizationRequest());
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThat(repository.removeAuthorizationRequest(callback(cookie, STATE), response)).isNotNull();
+		assertThat(response.getCookie(COOKIE_NAME).getMaxAge()).isZero(); //한 번 쓴 인가 요청은 삭제
+	}
+
+	private static CookieOAuth2AuthorizationRequestRepository newRepository(long maxAgeSeconds) throws Exception {
+		CookieOAuth2AuthorizationRequestRepository repository = new CookieOAuth2AuthorizationRequestRepository();
+		ReflectionTestUtils.setField(repository, "cookieName", COOKIE_NAME);
+		ReflectionTestUtils.setField(repository, "secret", "test-secret-test-secret-test-secret-0123456789");
+		ReflectionTestUtils.setField(repository, "maxAgeSeconds", maxAgeSeconds);
+		ReflectionTestUtils.setField(repository, "secure", true);
+		repository.init();
+		return repository;
+	}
+
+	private static OAuth2AuthorizationRequest authorizationRequest() {
+		return OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+				.clientId("google-client-id")
+				.redirectUri("http://localhost:8888/login/oauth2/code/google")
+				.scopes(Set.of("email", "profile"))
+				.state(STATE)
+				.additionalParameters(Map.of("nonce", "nonce-value")) //OIDC
+				.attributes(Map.of("registration_id", "google", "code_verifier", "verifier-value")) //PKCE
+				.build();
+	}
+
+	private static String save(CookieOAuth2AuthorizationRequestRepository repository, OAuth2AuthorizationRequest authorizationRequest) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), response);
+		return response.getCookie(COOKIE_NAME).getValue();
+	}
+
+	private static MockHttpServletRequest callback(String cookie, String state) { //구글/네이버에서 돌아오는 콜백 요청
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/google");
+		request.setCookies(new Cookie(COOKIE_NAME, cookie));
+		if (state != null) {
+			request.setParameter(OAuth2ParameterNames.STATE, state);
+		}
+		return request;
+	}
+}
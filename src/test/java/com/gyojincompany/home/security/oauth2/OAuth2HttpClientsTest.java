@@ -0,0 +1,216 @@
+package com.gyojincompany.home.security.oauth2;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationExchange;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponse;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//로컬 stub 서버(JDK HttpServer)를 공급자로 두고, 공급자가 느려도 로그인 스레드가 타임아웃 안에 풀려나는지 확인
+class OAuth2HttpClientsTest {
+
+	private static final long SLOW_MILLIS = 3_000; //공급자 지연 -> 타임아웃(300ms)보다 훨씬 길게
+	private static final long READ_TIMEOUT_MILLIS = 300;
+	private static final int MAX_CONNECTIONS = 4;
+
+	private final AtomicLong delayMillis = new AtomicLong();
+	private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet(); //서버가 받은 TCP 연결 (클라이언트 포트)
+	private ExecutorService serverExecutor;
+	private HttpServer server;
+	private ClientRegistration registration;
+	private OAuth2HttpClients clients;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(serverExecutor);
+		server.createContext("/token", exchange -> respond(exchange,
+				"{\"access_token\":\"stub-token\",\"token_type\":\"Bearer\",\"expires_in\":3600}"));
+		server.createContext("/userinfo", exchange -> respond(exchange,
+				"{\"sub\":\"stub-id\",\"email\":\"stub@example.com\",\"name\":\"Stub\"}"));
+		server.start();
+
+		String base = "http://127.0.0.1:" + server.getAddress().getPort();
+		registration = ClientRegistration.withRegistrationId("naver")
+				.clientId("client-id")
+				.clientSecret("client-secret")
+				.authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+				.redirectUri("http://localhost/login/oauth2/code/naver")
+				.authorizationUri(base + "/authorize")
+				.tokenUri(base + "/token")
+				.userInfoUri(base + "/userinfo")
+				.userNameAttributeName("sub")
+				.build();
+		MockEnvironment env = new MockEnvironment()
+				.withProperty("oauth2.http.default.read-timeout-ms", "10000")
+				.withProperty("oauth2.http.providers.naver.read-timeout-ms", String.valueOf(READ_TIMEOUT_MILLIS))
+				.withProperty("oauth2.http.providers.naver.max-connections", String.valueOf(MAX_CONNECTIONS))
+				.withProperty("oauth2.http.providers.naver.pool-wait-ms", "200");
+		clients = new OAuth2HttpClients(new InMemoryClientRegistrationRepository(registration), env);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		clients.destroy();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void userInfoCallTimesOutWhenProviderIsSlow() {
+		delayMillis.set(SLOW_MILLIS);
+		DefaultOAuth2UserService userService = userService();
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> userService.loadUser(userRequest()))
+				.isInstanceOf(OAuth2AuthenticationException.class);
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		//provider별 read-timeout(300ms) 적용 -> default(10s)나 공급자 지연(3s)까지 기다리지 않음
+		assertThat(elapsedMillis).isLessThan(SLOW_MILLIS / 2);
+	}
+
+	@Test
+	void slowProviderReleasesCallerThreadsAndConnections() throws Exception {
+		delayMillis.set(SLOW_MILLIS);
+		DefaultOAuth2UserService userService = userService();
+		int callers = MAX_CONNECTIONS * 5; //풀보다 많은 동시 로그인 -> 나머지는 pool-wait-ms 후 바로 실패
+
+		long start = System.nanoTime();
+		List<Future<Boolean>> results = new ArrayList<>();
+		try (ExecutorService callerThreads = Executors.newFixedThreadPool(callers)) {
+			for (int i = 0; i < callers; i++) {
+				results.add(callerThreads.submit(() -> {
+					try {
+						userService.loadUser(userRequest());
+						return true;
+					} catch (OAuth2AuthenticationException e) {
+						return false;
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertThat(result.get(SLOW_MILLIS, TimeUnit.MILLISECONDS)).isFalse();
+			}
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertThat(elapsedMillis).isLessThan(SLOW_MILLIS / 2); //모든 호출 스레드가 공급자 응답을 기다리지 않고 풀려남
+
+		//타임아웃 난 연결이 풀에 묶여 있지 않음 -> 공급자가 회복되면 바로 다시 로그인 가능
+		delayMillis.set(0);
+		OAuth2User user = userService.loadUser(userRequest());
+		assertThat(user.getName()).isEqualTo("stub-id");
+		assertThat(leased()).isZero();
+	}
+
+	@Test
+	void reusesKeepAliveConnectionAcrossLogins() {
+		DefaultOAuth2UserService userService = userService();
+		for (int i = 0; i < 5; i++) {
+			userService.loadUser(userRequest());
+		}
+		assertThat(clientPorts).hasSize(1); //요청마다 새 TCP 연결을 맺지 않음
+	}
+
+	@Test
+	void tokenExchangeUsesProviderTimeout() {
+		OAuth2AccessTokenResponse response = clients.tokenResponseClient().getTokenResponse(grantRequest());
+		assertThat(response.getAccessToken().getTokenValue()).isEqualTo("stub-token");
+
+		delayMillis.set(SLOW_MILLIS);
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> clients.tokenResponseClient().getTokenResponse(grantRequest()))
+				.isInstanceOf(OAuth2AuthorizationException.class);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(SLOW_MILLIS / 2);
+	}
+
+	private DefaultOAuth2UserService userService() {
+		DefaultOAuth2UserService userService = new DefaultOAuth2UserService();
+		userService.setRestOperations(clients.userInfoRestTemplate());
+		return userService;
+	}
+
+	private OAuth2UserRequest userRequest() {
+		OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "stub-token",
+				Instant.now(), Instant.now().plusSeconds(60));
+		return new OAuth2UserRequest(registration, token);
+	}
+
+	private OAuth2AuthorizationCodeGrantRequest grantRequest() {
+		OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+				.clientId(registration.getClientId())
+				.authorizationUri(registration.getProviderDetails().getAuthorizationUri())
+				.redirectUri(registration.getRedirectUri())
+				.state("state")
+				.build();
+		OAuth2AuthorizationResponse authorizationResponse = OAuth2AuthorizationResponse.success("code")
+				.redirectUri(registration.getRedirectUri())
+				.state("state")
+				.build();
+		return new OAuth2AuthorizationCodeGrantRequest(registration,
+				new OAuth2AuthorizationExchange(authorizationRequest, authorizationResponse));
+	}
+
+	@SuppressWarnings("unchecked")
+	private int leased() {
+		Map<String, Object> naver = (Map<String, Object>) clients.getPoolStats().get("naver");
+		return (Integer) naver.get("leased");
+	}
+
+	private void respond(HttpExchange exchange, String json) throws IOException {
+		clientPorts.add(exchange.getRemoteAddress().getPort());
+		try {
+			long delay = delayMillis.get();
+			if (delay > 0) {
+				Thread.sleep(delay);
+			}
+			byte[] body = json.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			//클라이언트가 타임아웃으로 먼저 연결을 끊음
+		} finally {
+			exchange.close();
+		}
+	}
+}
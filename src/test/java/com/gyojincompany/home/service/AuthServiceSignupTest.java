@@ -0,0 +1,90 @@
+package com.gyojincompany.home.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import com.gyojincompany.home.dto.AuthDto.SignupRequest;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.repository.UserRepository;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+//회원가입 INSERT가 제약 위반으로 실패했을 때 중복 이메일만 "이미 등록"으로 바꾸고 나머지 데이터 오류는 그대로 올리는지 확인
+class AuthServiceSignupTest {
+
+	private UserRepository userRepository;
+	private UserStatistics userStatistics;
+	private AuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		userStatistics = mock(UserStatistics.class);
+		authService = new AuthService(userRepository, NoOpPasswordEncoder.getInstance(), null, null, null, null,
+				userStatistics, null);
+	}
+
+	@Test
+	void successfulSignupIsCounted() {
+		assertThat(authService.signup(request()).getMessage()).isEqualTo("회원 가입 성공!");
+		verify(userStatistics).recordCreated(Role.USER, AuthProvider.LOCAL);
+	}
+
+	@Test
+	void uniqueEmailViolationIsReportedAsDuplicate() {
+		when(userRepository.saveAndFlush(any())).thenThrow(violation(ConstraintKind.UNIQUE, "users.UK6dotkott2kjsp8vw4d0m25fb7"));
+
+		assertThatThrownBy(() -> authService.signup(request()))
+				.isExactlyInstanceOf(RuntimeException.class)
+				.hasMessage("이미 등록된 이메일 입니다.");
+		verify(userStatistics, never()).recordCreated(any(), any());
+	}
+
+	@Test
+	void notNullViolationIsNotReportedAsDuplicate() {
+		DataIntegrityViolationException error = violation(ConstraintKind.NOT_NULL, null);
+		when(userRepository.saveAndFlush(any())).thenThrow(error);
+
+		assertThatThrownBy(() -> authService.signup(request())).isSameAs(error);
+	}
+
+	@Test
+	void providerIdViolationIsNotReportedAsDuplicate() {
+		DataIntegrityViolationException error = violation(ConstraintKind.UNIQUE, "users.uk_users_provider_provider_id");
+		when(userRepository.saveAndFlush(any())).thenThrow(error);
+
+		assertThatThrownBy(() -> authService.signup(request())).isSameAs(error);
+	}
+
+	@Test
+	void dataTooLongIsNotReportedAsDuplicate() {
+		DataIntegrityViolationException error = new DataIntegrityViolationException("could not execute statement",
+				new SQLException("Data too long for column 'name' at row 1", "22001", 1406));
+		when(userRepository.saveAndFlush(any())).thenThrow(error);
+
+		assertThatThrownBy(() -> authService.signup(request())).isSameAs(error);
+	}
+
+	private static SignupRequest request() {
+		return SignupRequest.builder().email("new@example.com").password("password").name("신규").build();
+	}
+
+	private static DataIntegrityViolationException violation(ConstraintKind kind, String constraintName) {
+		SQLException cause = new SQLException("constraint violation", "23000", kind == ConstraintKind.UNIQUE ? 1062 : 1048);
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("could not execute statement", cause, "insert into users ...", kind, constraintName));
+	}
+}
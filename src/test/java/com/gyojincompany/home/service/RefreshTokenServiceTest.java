@@ -0,0 +1,194 @@
+package com.gyojincompany.home.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.RefreshTokenFamily;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.entity.User;
+import com.gyojincompany.home.repository.RefreshTokenFamilyRepository;
+import com.gyojincompany.home.security.JwtKeyStore;
+import com.gyojincompany.home.security.JwtUtil;
+import com.gyojincompany.home.security.VerifiedToken;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//리프레시 토큰 회전, 이미 쓴 토큰 재사용 시 family 폐기, 회전 도입 전 토큰의 1회 이전을 확인
+//-> family 테이블은 Map으로 흉내 내고 같은 Map을 쓰는 서비스를 두 개 만들어 서버가 여러 대인 경우도 확인
+class RefreshTokenServiceTest {
+
+	private static final String SECRET = "refresh-test-secret-key-refresh-test-secret-key-0123";
+
+	private final Map<String, RefreshTokenFamily> table = new ConcurrentHashMap<>(); //refresh_token_families
+	private RefreshTokenFamilyRepository familyRepository;
+	private JwtUtil jwtUtil;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		familyRepository = mock(RefreshTokenFamilyRepository.class);
+		when(familyRepository.save(any())).thenAnswer(invocation -> {
+			RefreshTokenFamily family = invocation.getArgument(0);
+			if (table.putIfAbsent(family.getId(), family) != null) { //isNew -> INSERT, PK 중복이면 실패
+				throw new DataIntegrityViolationException("Duplicate entry '" + family.getId() + "' for key 'PRIMARY'");
+			}
+			return family;
+		});
+		when(familyRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.getArgument(0, String.class))));
+		when(familyRepository.rotate(anyString(), anyLong(), any())).thenAnswer(invocation -> {
+			RefreshTokenFamily family = table.get(invocation.getArgument(0, String.class));
+			long generation = invocation.getArgument(1);
+			if (family == null || family.isRevoked() || family.getGeneration() != generation) {
+				return 0;
+			}
+			family.setGeneration(generation + 1);
+			family.setExpiresAt(invocation.getArgument(2));
+			return 1;
+		});
+		when(familyRepository.revoke(anyString())).thenAnswer(invocation -> {
+			RefreshTokenFamily family = table.get(invocation.getArgument(0, String.class));
+			if (family == null) {
+				return 0;
+			}
+			family.setRevoked(true);
+			return 1;
+		});
+		when(familyRepository.revokeAllByUserIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<?> userIds = invocation.getArgument(0);
+			int revoked = 0;
+			for (RefreshTokenFamily family : table.values()) {
+				if (userIds.contains(family.getUserId()) && !family.isRevoked()) {
+					family.setRevoked(true);
+					revoked++;
+				}
+			}
+			return revoked;
+		});
+
+		jwtUtil = new JwtUtil(new JwtKeyStore()); //jwt.keys.dir 미설정 -> HMAC 모드
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+		ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+		jwtUtil.init();
+
+		user = User.builder()
+				.id(1L)
+				.email("user@example.com")
+				.emailNormalized("user@example.com")
+				.password("")
+				.name("사용자")
+				.role(Role.USER)
+				.provider(AuthProvider.LOCAL)
+				.createdAt(LocalDateTime.now())
+				.build();
+	}
+
+	@Test
+	void rotationIssuesNextGeneration() {
+		RefreshTokenService service = newService(null);
+		String first = service.issue(user);
+
+		VerifiedToken second = jwtUtil.verifyToken(service.rotate(jwtUtil.verifyToken(first), user));
+		VerifiedToken third = jwtUtil.verifyToken(service.rotate(second, user));
+
+		assertThat(second.getClaim(JwtUtil.CLAIM_FAMILY, String.class)).isEqualTo(familyOf(first));
+		assertThat(third.getLongClaim(JwtUtil.CLAIM_GENERATION)).isEqualTo(2L);
+		assertThat(table.get(familyOf(first)).getGeneration()).isEqualTo(2L);
+	}
+
+	@Test
+	void reusedTokenRevokesWholeFamily() {
+		RefreshTokenService service = newService(null);
+		VerifiedToken stolen = jwtUtil.verifyToken(service.issue(user));
+		VerifiedToken current = jwtUtil.verifyToken(service.rotate(stolen, user)); //정상 사용자가 먼저 회전
+
+		assertThatThrownBy(() -> service.rotate(stolen, user)) //탈취된 예전 토큰이 다시 들어옴
+				.hasMessage("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+		assertThat(table.get(familyOf(stolen)).isRevoked()).isTrue();
+		assertThatThrownBy(() -> service.rotate(current, user)) //같은 family의 최신 토큰도 더 이상 쓸 수 없음
+				.hasMessage("만료되었거나 폐기된 리프레시 토큰입니다.");
+	}
+
+	@Test
+	void reuseIsDetectedAcrossServers() {
+		RefreshTokenService nodeA = newService(null);
+		RefreshTokenService nodeB = newService(null); //같은 DB, 다른 메모리 캐시
+		VerifiedToken token = jwtUtil.verifyToken(nodeA.issue(user));
+		nodeA.rotate(token, user);
+
+		assertThatThrownBy(() -> nodeB.rotate(token, user))
+				.hasMessage("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+		assertThat(table.get(familyOf(token)).isRevoked()).isTrue();
+	}
+
+	@Test
+	void revokedUserSessionsCannotRotate() {
+		RefreshTokenService service = newService(null);
+		VerifiedToken token = jwtUtil.verifyToken(service.issue(user));
+
+		service.revokeAllForUsers(List.of(user.getId())); //회원 삭제/권한 변경
+
+		assertThatThrownBy(() -> service.rotate(token, user)).hasMessage("만료되었거나 폐기된 리프레시 토큰입니다.");
+	}
+
+	@Test
+	void accessTokenIsRejected() {
+		VerifiedToken accessToken = jwtUtil.verifyToken(jwtUtil.generateToken(user)); //fam/gen 없음
+
+		assertThatThrownBy(() -> newService(null).rotate(accessToken, user)) //예전 토큰을 받지 않는 기본 설정
+				.hasMessage("잘못된 리프레시 토큰입니다.");
+		assertThatThrownBy(() -> newService("2000-01-01T00:00:00Z").rotate(accessToken, user)) //도입 시각 이후에 발급된 토큰
+				.hasMessage("잘못된 리프레시 토큰입니다.");
+		assertThat(table).isEmpty();
+	}
+
+	@Test
+	void legacyTokenIsAcceptedOnlyOnce() {
+		VerifiedToken legacy = jwtUtil.verifyToken(jwtUtil.generateToken(user)); //도입 시각 이전에 발급된, fam/gen 없는 토큰으로 취급
+		RefreshTokenService nodeA = newService("2999-01-01T00:00:00Z");
+		RefreshTokenService nodeB = newService("2999-01-01T00:00:00Z");
+
+		VerifiedToken migrated = jwtUtil.verifyToken(nodeA.rotate(legacy, user));
+		assertThat(migrated.getClaim(JwtUtil.CLAIM_FAMILY, String.class)).isNotNull();
+		assertThat(migrated.getClaim(JwtUtil.CLAIM_TOKEN_TYPE, String.class)).isEqualTo(JwtUtil.TOKEN_TYPE_REFRESH);
+
+		assertThatThrownBy(() -> nodeB.rotate(legacy, user)) //같은 예전 토큰을 다른 서버에 다시 제출
+				.hasMessage("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+		assertThat(table).hasSize(1);
+	}
+
+	private RefreshTokenService newService(String legacyIssuedBefore) {
+		RefreshTokenService service = new RefreshTokenService(familyRepository, jwtUtil);
+		ReflectionTestUtils.setField(service, "refreshExpiration", 604800000L);
+		ReflectionTestUtils.setField(service, "cacheSize", 1000L);
+		ReflectionTestUtils.setField(service, "acceptLegacy", legacyIssuedBefore != null);
+		ReflectionTestUtils.setField(service, "legacyIssuedBefore", legacyIssuedBefore);
+		service.init();
+		return service;
+	}
+
+	private String familyOf(String token) {
+		return familyOf(jwtUtil.verifyToken(token));
+	}
+
+	private static String familyOf(VerifiedToken token) {
+		return token.getClaim(JwtUtil.CLAIM_FAMILY, String.class);
+	}
+}
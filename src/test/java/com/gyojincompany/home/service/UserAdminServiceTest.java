@@ -0,0 +1,166 @@
+package com.gyojincompany.home.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gyojincompany.home.dto.BulkUserDto.UserSelector;
+import com.gyojincompany.home.entity.AuthProvider;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.repository.UserRepository;
+import com.gyojincompany.home.security.CustomUserDetailsService;
+import com.gyojincompany.home.security.TokenEpochRegistry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+//관리자 일괄 삭제/권한 변경 -> DB 변경과 세션 폐기는 같은 트랜잭션에서, 회원 캐시/토큰 세대는 커밋된 뒤에만 바뀌는지 확인
+//-> 트랜잭션 동기화를 직접 켜고 커밋(afterCommit 호출)과 롤백(호출하지 않음)을 흉내 냄
+class UserAdminServiceTest {
+
+	private static final List<Object[]> TARGETS = List.of( //[id, email, role, provider]
+			new Object[] {1L, "a@example.com", Role.USER, AuthProvider.LOCAL},
+			new Object[] {2L, "b@example.com", Role.USER, AuthProvider.NAVER});
+
+	private UserRepository userRepository;
+	private CustomUserDetailsService userDetailsService;
+	private RefreshTokenService refreshTokenService;
+	private TokenEpochRegistry tokenEpochs;
+	private UserStatistics userStatistics;
+	private UserAdminService service;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		userDetailsService = mock(CustomUserDetailsService.class);
+		refreshTokenService = mock(RefreshTokenService.class);
+		tokenEpochs = mock(TokenEpochRegistry.class);
+		userStatistics = mock(UserStatistics.class);
+		service = new UserAdminService(userRepository, userDetailsService, refreshTokenService, tokenEpochs, userStatistics);
+		ReflectionTestUtils.setField(service, "maxUsers", 2);
+		TransactionSynchronizationManager.initSynchronization(); //@Transactional 메서드 안과 같은 상태
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void deleteInvalidatesCachesOnlyAfterCommit() {
+		when(userRepository.findTargetsByIdIn(List.of(1L, 2L))).thenReturn(TARGETS);
+		when(userRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+		assertThat(service.deleteUsers(new UserSelector(List.of(1L, 2L), null, null))).isEqualTo(2);
+
+		//같은 트랜잭션 -> 롤백되면 같이 취소됨
+		verify(refreshTokenService).revokeAllForUsers(List.of(1L, 2L));
+		verify(tokenEpochs).recordDeleted(List.of(1L, 2L));
+		verify(userStatistics).recordDeleted(Role.USER, AuthProvider.LOCAL);
+		verify(userStatistics).recordDeleted(Role.USER, AuthProvider.NAVER);
+		//커밋 전에는 메모리 상태를 바꾸지 않음
+		verify(userDetailsService, never()).evict(anyString());
+		verify(tokenEpochs, never()).markDeleted(any());
+
+		commit();
+
+		verify(userDetailsService).evict("a@example.com");
+		verify(userDetailsService).evict("b@example.com");
+		verify(tokenEpochs).markDeleted(List.of(1L, 2L));
+	}
+
+	@Test
+	void rolledBackDeleteLeavesCachesAlone() {
+		when(userRepository.findTargetsByIdIn(List.of(1L, 2L))).thenReturn(TARGETS);
+		when(userRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+		service.deleteUsers(new UserSelector(List.of(1L, 2L), null, null));
+		rollback();
+
+		verify(userDetailsService, never()).evict(anyString());
+		verify(tokenEpochs, never()).markDeleted(any());
+	}
+
+	@Test
+	void roleChangeByFilterRaisesEpochsAfterCommit() {
+		when(userRepository.findTargetsByFilter(Role.USER, null, Limit.of(3))).thenReturn(TARGETS); //maxUsers + 1개까지 읽어서 초과 여부 판단
+		when(userRepository.updateRoleByIdIn(eq(List.of(1L, 2L)), eq(Role.ADMIN), any())).thenReturn(2);
+		when(userRepository.findTokenVersionsByIdIn(List.of(1L, 2L))).thenReturn(List.of(new Object[] {1L, 4L}, new Object[] {2L, 1L}));
+
+		assertThat(service.changeRole(new UserSelector(null, Role.USER, null), Role.ADMIN)).isEqualTo(2);
+
+		verify(refreshTokenService).revokeAllForUsers(List.of(1L, 2L)); //예전 권한으로 로그인한 세션 폐기
+		verify(userStatistics).recordRoleChanged(Role.USER, Role.ADMIN, AuthProvider.LOCAL);
+		verify(userStatistics).recordRoleChanged(Role.USER, Role.ADMIN, AuthProvider.NAVER);
+		verify(tokenEpochs, never()).update(anyLong(), anyLong());
+		verify(userDetailsService, never()).evict(anyString());
+
+		commit();
+
+		verify(tokenEpochs).update(1L, 4L);
+		verify(tokenEpochs).update(2L, 1L);
+		verify(userDetailsService).evict("a@example.com");
+		verify(userDetailsService).evict("b@example.com");
+	}
+
+	@Test
+	void emptyTargetChangesNothing() {
+		when(userRepository.findTargetsByIdIn(List.of(9L))).thenReturn(List.of());
+
+		assertThat(service.deleteUsers(new UserSelector(List.of(9L), null, null))).isZero();
+		assertThat(service.changeRole(new UserSelector(List.of(9L), null, null), Role.ADMIN)).isZero();
+
+		verify(userRepository, never()).deleteAllByIdIn(any());
+		verify(userRepository, never()).updateRoleByIdIn(any(), any(), any());
+		verifyNoInteractions(refreshTokenService, tokenEpochs, userStatistics);
+		assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+	}
+
+	@Test
+	void unboundedOrOversizedSelectionIsRejected() {
+		when(userRepository.findTargetsByFilter(null, AuthProvider.NAVER, Limit.of(3)))
+				.thenReturn(List.of(TARGETS.get(0), TARGETS.get(1), new Object[] {3L, "c@example.com", Role.USER, AuthProvider.NAVER}));
+
+		assertThatThrownBy(() -> service.deleteUsers(new UserSelector(null, null, null)))
+				.hasMessage("대상 회원(ids 또는 role/provider 조건)을 지정해 주세요.");
+		assertThatThrownBy(() -> service.deleteUsers(new UserSelector(List.of(1L, 2L, 3L), null, null)))
+				.hasMessage("한 번에 최대 2명까지 처리할 수 있습니다.");
+		assertThatThrownBy(() -> service.changeRole(new UserSelector(null, null, AuthProvider.NAVER), Role.ADMIN))
+				.hasMessage("조건에 해당하는 회원이 2명을 넘습니다. 조건을 좁혀 주세요.");
+		assertThatThrownBy(() -> service.changeRole(new UserSelector(List.of(1L), null, null), null))
+				.hasMessage("Invalid role");
+
+		verify(userRepository, never()).deleteAllByIdIn(any());
+		verify(userRepository, never()).updateRoleByIdIn(any(), any(), any());
+		verifyNoInteractions(refreshTokenService, tokenEpochs);
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+	}
+
+	private static void rollback() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+	}
+}
@@ -0,0 +1,180 @@
+package com.gyojincompany.home.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gyojincompany.home.dto.UserImportDto.ImportResponse;
+import com.gyojincompany.home.dto.UserImportDto.ImportRow;
+import com.gyojincompany.home.dto.UserImportDto.RowResult;
+import com.gyojincompany.home.dto.UserImportDto.Status;
+import com.gyojincompany.home.entity.Role;
+import com.gyojincompany.home.security.BoundedPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+//회원 일괄 등록이 행마다 CREATED / DUPLICATE_IN_REQUEST / ALREADY_EXISTS / INVALID를 맞게 돌려주는지 확인
+//-> users 테이블은 Map(email_normalized -> [id, password])으로 흉내 내고 INSERT는 ON DUPLICATE KEY UPDATE id = id처럼 중복이면 건너뜀
+class UserImportServiceTest {
+
+	private final Map<String, Object[]> users = new LinkedHashMap<>();
+	private final AtomicLong nextId = new AtomicLong(100);
+	private final AtomicLong hashSeq = new AtomicLong();
+	private Runnable beforeInsert = () -> {}; //중복 확인과 INSERT 사이에 끼어드는 다른 요청
+
+	private UserStatistics userStatistics;
+	private UserImportService service;
+
+	@BeforeEach
+	void setUp() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		NamedParameterJdbcTemplate namedJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+		BoundedPasswordEncoder passwordEncoder = mock(BoundedPasswordEncoder.class);
+		userStatistics = mock(UserStatistics.class);
+
+		when(passwordEncoder.encodeAll(anyList())).thenAnswer(invocation -> {
+			List<? extends CharSequence> raw = invocation.getArgument(0);
+			return raw.stream().map(password -> "hash-" + hashSeq.incrementAndGet() + "-" + password).toList(); //salt처럼 매번 다른 값
+		});
+
+		//SELECT ... WHERE email_normalized IN (:emails) -> 두 조회 모두 (1: email_normalized 또는 id, 2: email_normalized, 3: password) 순서로 읽음
+		doAnswer(invocation -> {
+			Collection<?> emails = (Collection<?>) invocation.getArgument(1, SqlParameterSource.class).getValue("emails");
+			RowCallbackHandler handler = invocation.getArgument(2);
+			for (Object email : emails) {
+				Object[] row = users.get(email);
+				if (row != null) {
+					handler.processRow(resultSet((String) email, row));
+				}
+			}
+			return null;
+		}).when(namedJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+		when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(invocation -> {
+			beforeInsert.run();
+			BatchPreparedStatementSetter setter = invocation.getArgument(1);
+			int[] counts = new int[setter.getBatchSize()];
+			for (int k = 0; k < counts.length; k++) {
+				Object[] params = new Object[9]; //JDBC 파라미터는 1부터
+				PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+							params[(Integer) args[0]] = args[1];
+							return null;
+						});
+				setter.setValues(statement, k);
+				if (users.putIfAbsent((String) params[2], new Object[] {nextId.incrementAndGet(), params[3]}) == null) {
+					counts[k] = 1;
+				}
+			}
+			return counts;
+		});
+
+		service = new UserImportService(jdbcTemplate, namedJdbcTemplate, passwordEncoder, userStatistics);
+		ReflectionTestUtils.setField(service, "maxRows", 100);
+		ReflectionTestUtils.setField(service, "chunkSize", 1000);
+	}
+
+	@Test
+	void eachRowGetsItsStatus() {
+		users.put("old@example.com", new Object[] {1L, "existing-hash"});
+
+		ImportResponse response = service.importUsers(List.of(
+				row("new@example.com", "password", "신규", null),
+				row("not-an-email", "password", "형식 오류", null),
+				row("short@example.com", "12345", "비밀번호 짧음", null),
+				row(" NEW@example.com ", "password", "요청 안 중복", null),
+				row("Old@Example.com", "password", "이미 있음", null),
+				row("admin@example.com", "password", "관리자", Role.ADMIN)));
+
+		assertThat(response.getResults()).extracting(RowResult::getStatus).containsExactly(
+				Status.CREATED, Status.INVALID, Status.INVALID, Status.DUPLICATE_IN_REQUEST, Status.ALREADY_EXISTS, Status.CREATED);
+		assertThat(response.getResults()).extracting(RowResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+		assertThat(response.getTotal()).isEqualTo(6);
+		assertThat(response.getCreated()).isEqualTo(2);
+		assertThat(response.getSkipped()).isEqualTo(4);
+
+		assertThat(response.getResults().get(0).getId()).isEqualTo(users.get("new@example.com")[0]);
+		assertThat(response.getResults().get(1).getMessage()).isEqualTo("잘못된 이메일 형식입니다.");
+		assertThat(response.getResults().get(2).getMessage()).isEqualTo("비밀번호는 반드시 6자 이상이어야 합니다.");
+		assertThat(users.get("old@example.com")[1]).isEqualTo("existing-hash"); //기존 회원은 건드리지 않음
+		verify(userStatistics).recordImported(Role.USER, 1);
+		verify(userStatistics).recordImported(Role.ADMIN, 1);
+	}
+
+	@Test
+	void signupBetweenCheckAndInsertIsReportedAsExisting() {
+		beforeInsert = () -> users.put("race@example.com", new Object[] {7L, "signup-hash"}); //같은 이메일로 회원가입이 먼저 커밋됨
+
+		ImportResponse response = service.importUsers(List.of(row("race@example.com", "password", "경합", null)));
+
+		assertThat(response.getResults()).extracting(RowResult::getStatus).containsExactly(Status.ALREADY_EXISTS);
+		assertThat(response.getResults().get(0).getId()).isNull();
+		assertThat(response.getCreated()).isZero();
+		assertThat(users.get("race@example.com")[1]).isEqualTo("signup-hash");
+		verify(userStatistics).recordImported(Role.USER, 0);
+	}
+
+	@Test
+	void duplicatesAreDetectedAcrossChunks() {
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+
+		ImportResponse response = service.importUsers(List.of(
+				row("a@example.com", "password", "a", null),
+				row("b@example.com", "password", "b", null),
+				row("c@example.com", "password", "c", null),
+				row("A@example.com", "password", "a 중복", null))); //두 번째 chunk에서 첫 번째 chunk의 이메일
+
+		assertThat(response.getResults()).extracting(RowResult::getStatus).containsExactly(
+				Status.CREATED, Status.CREATED, Status.CREATED, Status.DUPLICATE_IN_REQUEST);
+		assertThat(users).hasSize(3);
+	}
+
+	@Test
+	void emptyOrOversizedRequestIsRejected() {
+		assertThatThrownBy(() -> service.importUsers(List.of())).hasMessage("등록할 회원이 없습니다.");
+
+		List<ImportRow> rows = new ArrayList<>();
+		for (int i = 0; i <= 100; i++) {
+			rows.add(row("user" + i + "@example.com", "password", "user" + i, null));
+		}
+		assertThatThrownBy(() -> service.importUsers(rows)).hasMessage("한 번에 최대 100명까지 등록할 수 있습니다.");
+		assertThat(users).isEmpty();
+	}
+
+	private ResultSet resultSet(String email, Object[] row) { //현재 행만 읽는 ResultSet
+		return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class}, (proxy, method, args) ->
+				switch (method.getName() + args[0]) {
+					case "getString1", "getString2" -> email;
+					case "getLong1" -> row[0];
+					case "getString3" -> row[1];
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private static ImportRow row(String email, String password, String name, Role role) {
+		return new ImportRow(email, password, name, role);
+	}
+}